@@ -0,0 +1,66 @@
+package com.travel.booking.client;
+
+import com.travel.booking.dto.FlightAvailabilityDTO;
+import com.travel.booking.dto.HotelAvailabilityDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded TTL near-cache in front of the availability checks of
+ * {@link FlightFeignClient} and {@link HotelFeignClient}. Only used for the
+ * pre-check at booking creation; reservations always go to the owning service,
+ * which re-checks inventory, so a stale entry can never oversell. Concurrent
+ * misses for the same id share a single downstream call, which may be hedged
+ * (see {@link RequestHedger}).
+ */
+@Component
+@Slf4j
+public class AvailabilityCacheClient {
+
+    public static final String FLIGHT_AVAILABILITY = "flightAvailability";
+    public static final String HOTEL_AVAILABILITY = "hotelAvailability";
+
+    private final FlightFeignClient flightFeignClient;
+    private final HotelFeignClient hotelFeignClient;
+    private final RequestHedger requestHedger;
+    private final SingleFlight<Long, FlightAvailabilityDTO> flightLookups;
+    private final SingleFlight<Long, HotelAvailabilityDTO> hotelLookups;
+
+    public AvailabilityCacheClient(FlightFeignClient flightFeignClient,
+                                   HotelFeignClient hotelFeignClient,
+                                   RequestHedger requestHedger,
+                                   MeterRegistry meterRegistry) {
+        this.flightFeignClient = flightFeignClient;
+        this.hotelFeignClient = hotelFeignClient;
+        this.requestHedger = requestHedger;
+        this.flightLookups = new SingleFlight<>("flight-availability", meterRegistry);
+        this.hotelLookups = new SingleFlight<>("hotel-availability", meterRegistry);
+    }
+
+    @Cacheable(cacheNames = FLIGHT_AVAILABILITY, key = "#flightId", unless = "#result == null")
+    public FlightAvailabilityDTO getFlightAvailability(Long flightId) {
+        log.debug("Flight {} availability cache miss", flightId);
+        return flightLookups.execute(flightId, () -> requestHedger.execute(DownstreamResilience.FLIGHT_SERVICE,
+                () -> flightFeignClient.checkAvailability(flightId).getBody()));
+    }
+
+    @Cacheable(cacheNames = HOTEL_AVAILABILITY, key = "#hotelId", unless = "#result == null")
+    public HotelAvailabilityDTO getHotelAvailability(Long hotelId) {
+        log.debug("Hotel {} availability cache miss", hotelId);
+        return hotelLookups.execute(hotelId, () -> requestHedger.execute(DownstreamResilience.HOTEL_SERVICE,
+                () -> hotelFeignClient.checkAvailability(hotelId).getBody()));
+    }
+
+    @CacheEvict(cacheNames = FLIGHT_AVAILABILITY, key = "#flightId")
+    public void evictFlight(Long flightId) {
+        log.debug("Evicting flight {} availability", flightId);
+    }
+
+    @CacheEvict(cacheNames = HOTEL_AVAILABILITY, key = "#hotelId")
+    public void evictHotel(Long hotelId) {
+        log.debug("Evicting hotel {} availability", hotelId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.travel.booking.client;
+
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which errors count against a circuit breaker: timeouts, I/O errors and
+ * 5xx responses do; 4xx answers (unknown id, no seats left) and local bulkhead
+ * rejections do not, since the dependency itself is healthy.
+ */
+public class DownstreamFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        if (e instanceof FeignException feignException && feignException.status() > 0) {
+            return feignException.status() >= 500;
+        }
+        return !(e instanceof BulkheadFullException);
+    }
+}
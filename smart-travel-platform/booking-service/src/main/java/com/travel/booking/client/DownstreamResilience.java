@@ -0,0 +1,144 @@
+package com.travel.booking.client;
+
+import feign.Client;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker, bulkhead and timeout per downstream service, so one slow
+ * dependency cannot exhaust the threads and connections the others need.
+ * <p>
+ * Settings come from the resilience4j.* properties, one instance per service name.
+ * Feign calls are guarded at the transport level (see {@link #decorate(Client)}) and
+ * use the per-client Feign read timeout; WebClient calls use the time limiter.
+ * Breaker state and bulkhead usage are published by resilience4j-micrometer;
+ * calls rejected without being sent are counted in booking.downstream.rejected.
+ */
+@Component
+public class DownstreamResilience {
+
+    public static final String FLIGHT_SERVICE = "flight-service";
+    public static final String HOTEL_SERVICE = "hotel-service";
+    public static final String USER_SERVICE = "user-service";
+    public static final String NOTIFICATION_SERVICE = "notification-service";
+
+    private static final List<String> DEPENDENCIES =
+            List.of(FLIGHT_SERVICE, HOTEL_SERVICE, USER_SERVICE, NOTIFICATION_SERVICE);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                                BulkheadRegistry bulkheadRegistry,
+                                TimeLimiterRegistry timeLimiterRegistry,
+                                MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.meterRegistry = meterRegistry;
+        // Create the instances up front so their metrics exist before the first call
+        DEPENDENCIES.forEach(dependency -> {
+            circuitBreakerRegistry.circuitBreaker(dependency);
+            bulkheadRegistry.bulkhead(dependency);
+            timeLimiterRegistry.timeLimiter(dependency);
+        });
+    }
+
+    /**
+     * Guard a WebClient call: timeout, then bulkhead, inside the dependency's circuit breaker
+     */
+    public <T> Mono<T> decorate(String dependency, Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(dependency)))
+                .transformDeferred(TimeLimiterOperator.of(timeLimiterRegistry.timeLimiter(dependency)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(dependency)))
+                .doOnError(e -> countRejection(dependency, e));
+    }
+
+    /**
+     * Guard every request of a Feign client, keyed by the client name. A 5xx response
+     * counts as a breaker failure but is still returned, so Feign decodes it as usual.
+     */
+    public Client decorate(Client delegate) {
+        return (request, options) -> {
+            String dependency = request.requestTemplate().feignTarget().name();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(dependency);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(dependency);
+
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                countRejection(dependency, e);
+                throw e;
+            }
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                BulkheadFullException e = BulkheadFullException.createBulkheadFullException(bulkhead);
+                countRejection(dependency, e);
+                throw e;
+            }
+
+            long start = System.nanoTime();
+            try {
+                Response response = delegate.execute(request, options);
+                long duration = System.nanoTime() - start;
+                if (response.status() >= 500) {
+                    circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                            new IOException(dependency + " responded with HTTP " + response.status()));
+                } else {
+                    circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+
+    /**
+     * Calls the dependency's bulkhead admits at once; callers fanning out should stay below it
+     */
+    public int maxConcurrentCalls(String dependency) {
+        return bulkheadRegistry.bulkhead(dependency).getBulkheadConfig().getMaxConcurrentCalls();
+    }
+
+    /**
+     * True when the call was refused locally and never reached the dependency
+     */
+    public static boolean isRejected(Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+    }
+
+    private void countRejection(String dependency, Throwable e) {
+        if (isRejected(e)) {
+            Counter.builder("booking.downstream.rejected")
+                    .description("Calls refused by a circuit breaker or bulkhead without being sent")
+                    .tag("dependency", dependency)
+                    .tag("reason", e instanceof CallNotPermittedException ? "circuit_open" : "bulkhead_full")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
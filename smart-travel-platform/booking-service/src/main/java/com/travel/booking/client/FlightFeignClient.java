@@ -6,6 +6,9 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Feign Client for Flight Service
  */
@@ -15,6 +18,12 @@ public interface FlightFeignClient {
     @GetMapping("/api/flights/check-availability/{id}")
     ResponseEntity<FlightAvailabilityDTO> checkAvailability(@PathVariable("id") Long id);
 
+    @PostMapping("/api/flights/check-availability/batch")
+    ResponseEntity<Map<Long, FlightAvailabilityDTO>> checkAvailabilityBatch(@RequestBody Collection<Long> ids);
+
     @PutMapping("/api/flights/{id}/reserve")
     ResponseEntity<?> reserveSeats(@PathVariable("id") Long id, @RequestBody ReservationDTO reservationDTO);
+
+    @PutMapping("/api/flights/{id}/release")
+    ResponseEntity<?> releaseSeats(@PathVariable("id") Long id, @RequestBody ReservationDTO reservationDTO);
 }
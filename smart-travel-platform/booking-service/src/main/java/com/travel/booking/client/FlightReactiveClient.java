@@ -0,0 +1,61 @@
+package com.travel.booking.client;
+
+import com.travel.booking.dto.FlightAvailabilityDTO;
+import com.travel.booking.dto.ReservationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FlightFeignClient} used by the reactive booking mode.
+ * Concurrent availability lookups for the same id share one request, which may be hedged.
+ */
+@Component
+public class FlightReactiveClient {
+
+    private final WebClient flightServiceWebClient;
+    private final DownstreamResilience downstreamResilience;
+    private final RequestHedger requestHedger;
+    private final SingleFlight<Long, FlightAvailabilityDTO> availabilityLookups;
+
+    public FlightReactiveClient(WebClient flightServiceWebClient, DownstreamResilience downstreamResilience,
+                                 RequestHedger requestHedger, MeterRegistry meterRegistry) {
+        this.flightServiceWebClient = flightServiceWebClient;
+        this.downstreamResilience = downstreamResilience;
+        this.requestHedger = requestHedger;
+        this.availabilityLookups = new SingleFlight<>("flight-availability-reactive", meterRegistry);
+    }
+
+    public Mono<FlightAvailabilityDTO> checkAvailability(Long id) {
+        return availabilityLookups.executeReactive(id, () -> requestHedger.hedge(DownstreamResilience.FLIGHT_SERVICE,
+                () -> flightServiceWebClient
+                        .get()
+                        .uri("/api/flights/check-availability/{id}", id)
+                        .retrieve()
+                        .bodyToMono(FlightAvailabilityDTO.class)
+                        .transform(call -> downstreamResilience.decorate(DownstreamResilience.FLIGHT_SERVICE, call))));
+    }
+
+    public Mono<Void> reserveSeats(Long id, ReservationDTO reservationDTO) {
+        return flightServiceWebClient
+                .put()
+                .uri("/api/flights/{id}/reserve", id)
+                .bodyValue(reservationDTO)
+                .retrieve()
+                .toBodilessEntity()
+                .transform(call -> downstreamResilience.decorate(DownstreamResilience.FLIGHT_SERVICE, call))
+                .then();
+    }
+
+    public Mono<Void> releaseSeats(Long id, ReservationDTO reservationDTO) {
+        return flightServiceWebClient
+                .put()
+                .uri("/api/flights/{id}/release", id)
+                .bodyValue(reservationDTO)
+                .retrieve()
+                .toBodilessEntity()
+                .transform(call -> downstreamResilience.decorate(DownstreamResilience.FLIGHT_SERVICE, call))
+                .then();
+    }
+}
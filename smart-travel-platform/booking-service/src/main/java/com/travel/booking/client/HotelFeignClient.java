@@ -6,6 +6,9 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Feign Client for Hotel Service
  */
@@ -15,6 +18,12 @@ public interface HotelFeignClient {
     @GetMapping("/api/hotels/check-availability/{id}")
     ResponseEntity<HotelAvailabilityDTO> checkAvailability(@PathVariable("id") Long id);
 
+    @PostMapping("/api/hotels/check-availability/batch")
+    ResponseEntity<Map<Long, HotelAvailabilityDTO>> checkAvailabilityBatch(@RequestBody Collection<Long> ids);
+
     @PutMapping("/api/hotels/{id}/reserve")
     ResponseEntity<?> reserveRooms(@PathVariable("id") Long id, @RequestBody RoomReservationDTO reservationDTO);
+
+    @PutMapping("/api/hotels/{id}/release")
+    ResponseEntity<?> releaseRooms(@PathVariable("id") Long id, @RequestBody RoomReservationDTO reservationDTO);
 }
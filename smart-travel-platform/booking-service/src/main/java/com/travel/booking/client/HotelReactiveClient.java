@@ -0,0 +1,61 @@
+package com.travel.booking.client;
+
+import com.travel.booking.dto.HotelAvailabilityDTO;
+import com.travel.booking.dto.RoomReservationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link HotelFeignClient} used by the reactive booking mode.
+ * Concurrent availability lookups for the same id share one request, which may be hedged.
+ */
+@Component
+public class HotelReactiveClient {
+
+    private final WebClient hotelServiceWebClient;
+    private final DownstreamResilience downstreamResilience;
+    private final RequestHedger requestHedger;
+    private final SingleFlight<Long, HotelAvailabilityDTO> availabilityLookups;
+
+    public HotelReactiveClient(WebClient hotelServiceWebClient, DownstreamResilience downstreamResilience,
+                                RequestHedger requestHedger, MeterRegistry meterRegistry) {
+        this.hotelServiceWebClient = hotelServiceWebClient;
+        this.downstreamResilience = downstreamResilience;
+        this.requestHedger = requestHedger;
+        this.availabilityLookups = new SingleFlight<>("hotel-availability-reactive", meterRegistry);
+    }
+
+    public Mono<HotelAvailabilityDTO> checkAvailability(Long id) {
+        return availabilityLookups.executeReactive(id, () -> requestHedger.hedge(DownstreamResilience.HOTEL_SERVICE,
+                () -> hotelServiceWebClient
+                        .get()
+                        .uri("/api/hotels/check-availability/{id}", id)
+                        .retrieve()
+                        .bodyToMono(HotelAvailabilityDTO.class)
+                        .transform(call -> downstreamResilience.decorate(DownstreamResilience.HOTEL_SERVICE, call))));
+    }
+
+    public Mono<Void> reserveRooms(Long id, RoomReservationDTO reservationDTO) {
+        return hotelServiceWebClient
+                .put()
+                .uri("/api/hotels/{id}/reserve", id)
+                .bodyValue(reservationDTO)
+                .retrieve()
+                .toBodilessEntity()
+                .transform(call -> downstreamResilience.decorate(DownstreamResilience.HOTEL_SERVICE, call))
+                .then();
+    }
+
+    public Mono<Void> releaseRooms(Long id, RoomReservationDTO reservationDTO) {
+        return hotelServiceWebClient
+                .put()
+                .uri("/api/hotels/{id}/release", id)
+                .bodyValue(reservationDTO)
+                .retrieve()
+                .toBodilessEntity()
+                .transform(call -> downstreamResilience.decorate(DownstreamResilience.HOTEL_SERVICE, call))
+                .then();
+    }
+}
@@ -0,0 +1,215 @@
+package com.travel.booking.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in hedging for idempotent read-only calls: if no response has arrived by the
+ * dependency's observed p95 latency, a second identical request is sent and whichever
+ * answers first wins. The loser is cancelled (or, for blocking calls, left to finish).
+ * <p>
+ * Extra load is capped by a budget per dependency: every call deposits budget-ratio
+ * tokens (up to budget-max-tokens) and every hedge spends one, so with the default
+ * ratio at most ~10% of calls are hedged. Hedges go through the same circuit breaker
+ * and bulkhead as the original, see {@link DownstreamResilience}.
+ */
+@Component
+@Slf4j
+public class RequestHedger {
+
+    private static final long TOKEN = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Hedged> dependencies = new ConcurrentHashMap<>();
+
+    @Value("${booking.hedging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.hedging.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${booking.hedging.budget-max-tokens:10}")
+    private int budgetMaxTokens;
+
+    @Value("${booking.hedging.min-samples:50}")
+    private long minSamples;
+
+    @Value("${booking.hedging.min-delay-ms:10}")
+    private long minDelayMs;
+
+    public RequestHedger(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Hedge a blocking call. Attempts run on the bounded-elastic scheduler so the
+     * caller can stop waiting on a slow one; without hedging the call runs in place.
+     */
+    public <T> T execute(String dependency, Supplier<T> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        Hedged hedged = hedged(dependency);
+        Duration delay = hedged.deposit();
+        if (delay == null) {
+            long start = System.nanoTime();
+            T result = attempt.get();
+            hedged.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        }
+        return race(hedged, delay,
+                () -> Mono.fromSupplier(attempt).subscribeOn(Schedulers.boundedElastic()))
+                .block();
+    }
+
+    /**
+     * Hedge a non-blocking call; the supplier is invoked once per attempt
+     */
+    public <T> Mono<T> hedge(String dependency, Supplier<Mono<T>> attempt) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        return Mono.defer(() -> {
+            Hedged hedged = hedged(dependency);
+            Duration delay = hedged.deposit();
+            if (delay == null) {
+                long start = System.nanoTime();
+                return attempt.get()
+                        .doOnSuccess(value -> hedged.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            }
+            return race(hedged, delay, attempt);
+        });
+    }
+
+    private <T> Mono<T> race(Hedged hedged, Duration delay, Supplier<Mono<T>> attempt) {
+        return Mono.create(sink -> {
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicInteger outstanding = new AtomicInteger(1);
+            Disposable.Composite attempts = Disposables.composite();
+            sink.onDispose(attempts);
+
+            attempts.add(subscribe(hedged, attempt, sink, done, outstanding, false));
+            attempts.add(Mono.delay(delay).subscribe(tick -> {
+                if (done.get()) {
+                    return;
+                }
+                if (!hedged.withdraw()) {
+                    hedged.budgetExhausted.increment();
+                    return;
+                }
+                outstanding.incrementAndGet();
+                hedged.sent.increment();
+                log.debug("Hedging {} call after {}ms", hedged.dependency, delay.toMillis());
+                attempts.add(subscribe(hedged, attempt, sink, done, outstanding, true));
+            }));
+        });
+    }
+
+    private <T> Disposable subscribe(Hedged hedged, Supplier<Mono<T>> attempt, MonoSink<T> sink,
+                                     AtomicBoolean done, AtomicInteger outstanding, boolean hedge) {
+        long start = System.nanoTime();
+        return attempt.get()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .subscribe(result -> {
+                    hedged.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (done.compareAndSet(false, true)) {
+                        if (hedge) {
+                            hedged.won.increment();
+                        }
+                        sink.success(result.orElse(null));
+                    }
+                }, e -> {
+                    // Only fail once no other attempt can still answer
+                    if (outstanding.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                        sink.error(e);
+                    }
+                });
+    }
+
+    private Hedged hedged(String dependency) {
+        return dependencies.computeIfAbsent(dependency, Hedged::new);
+    }
+
+    private final class Hedged {
+
+        private final String dependency;
+        private final Timer latency;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter budgetExhausted;
+        private final AtomicLong tokens = new AtomicLong();
+
+        private Hedged(String dependency) {
+            this.dependency = dependency;
+            this.latency = Timer.builder("booking.hedge.latency")
+                    .description("Latency of successful attempts of hedgeable calls")
+                    .tag("dependency", dependency)
+                    .publishPercentiles(0.95)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+            this.sent = counter("booking.hedge.sent", "Hedge requests sent", dependency);
+            this.won = counter("booking.hedge.won", "Hedge requests that answered first", dependency);
+            this.budgetExhausted = counter("booking.hedge.budget-exhausted",
+                    "Hedges skipped because the hedge budget was spent", dependency);
+        }
+
+        /**
+         * Credit the budget for one call and return the hedge delay, or null while
+         * there are too few samples to know the p95
+         */
+        private Duration deposit() {
+            long credit = Math.round(budgetRatio * TOKEN);
+            long max = budgetMaxTokens * TOKEN;
+            tokens.getAndUpdate(current -> Math.min(max, current + credit));
+
+            if (latency.count() < minSamples) {
+                return null;
+            }
+            for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                double p95 = percentile.value(TimeUnit.MILLISECONDS);
+                if (p95 > 0) {
+                    return Duration.ofMillis(Math.max(minDelayMs, Math.round(p95)));
+                }
+            }
+            return null;
+        }
+
+        private boolean withdraw() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - TOKEN));
+            return true;
+        }
+
+        private Counter counter(String name, String description, String dependency) {
+            return Counter.builder(name)
+                    .description(description)
+                    .tag("dependency", dependency)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.travel.booking.client;
+
+import feign.Capability;
+import feign.Client;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the per-dependency circuit breaker and bulkhead to every Feign client.
+ * Must be a public class: Feign invokes enrich methods reflectively.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilientFeignCapability implements Capability {
+
+    private final DownstreamResilience downstreamResilience;
+
+    @Override
+    public Client enrich(Client client) {
+        return downstreamResilience.decorate(client);
+    }
+}
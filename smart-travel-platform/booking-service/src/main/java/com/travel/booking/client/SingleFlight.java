@@ -0,0 +1,74 @@
+package com.travel.booking.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller starts the
+ * downstream call, callers arriving while it is in flight share its result
+ * (or its failure). Nothing is kept once the call completes.
+ * <p>
+ * The shared call runs on the bounded-elastic scheduler rather than on the thread
+ * of whichever caller came first, so cancelling or interrupting one caller only
+ * stops that caller waiting; the call, and everyone else waiting on it, carry on.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("booking.single-flight.coalesced")
+                .description("Calls that joined an identical in-flight downstream call")
+                .tag("call", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Share a blocking call; waiting can be interrupted, which throws
+     * {@link CancellationException} to that caller only
+     */
+    public V execute(K key, Supplier<V> call) {
+        return await(share(key, () -> Mono.fromSupplier(call).subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    public Mono<V> executeReactive(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> Mono.fromFuture(share(key, call), true));
+    }
+
+    private CompletableFuture<V> share(K key, Supplier<Mono<V>> call) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, leader))
+                .subscribe(leader::complete, leader::completeExceptionally, () -> leader.complete(null));
+        return leader;
+    }
+
+    private V await(CompletableFuture<V> shared) {
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a shared call");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
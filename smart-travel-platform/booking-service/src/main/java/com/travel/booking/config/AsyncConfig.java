@@ -0,0 +1,125 @@
+package com.travel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor used to fan out downstream calls made while orchestrating a booking.
+ * Backed by a bounded platform-thread pool, or by virtual threads when
+ * spring.threads.virtual.enabled=true on a Java 21+ runtime.
+ * <p>
+ * Confirmations run on their own executor, switched the same way; they wait on fan-out
+ * tasks, so sharing one executor could starve it.
+ * <p>
+ * Pinning review for virtual mode, from reading the code on these paths (not measured;
+ * -Djdk.tracePinnedThreads=short under load would confirm it):
+ * <ul>
+ *   <li>Hikari 5.0.1: connection borrow (ConcurrentBag) takes no monitor; only pool
+ *   fill, suspend and shutdown are synchronized.</li>
+ *   <li>H2 2.2.224: no monitors on the statement path, but a row-lock wait
+ *   (Transaction.waitForThisToEnd) pins its carrier, so hot-row reservations must stay
+ *   short.</li>
+ *   <li>Feign's default HttpURLConnection client holds a monitor while writing a buffered
+ *   body; the pooled hc5 client does not.</li>
+ *   <li>No synchronized blocks in this service's fan-out or confirm paths.</li>
+ * </ul>
+ * <p>
+ * Declaring these executors makes Boot skip its applicationTaskExecutor, which Spring MVC
+ * uses for async handlers (SSE, StreamingResponseBody, Mono); it is declared here instead,
+ * built from spring.task.execution.* as Boot would.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${booking.fan-out.pool-size:32}")
+    private int poolSize;
+
+    @Value("${booking.fan-out.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${booking.fan-out.virtual-concurrency-limit:2000}")
+    private int virtualConcurrencyLimit;
+
+    @Value("${booking.confirm.pool-size:8}")
+    private int confirmPoolSize;
+
+    @Value("${booking.confirm.queue-capacity:1000}")
+    private int confirmQueueCapacity;
+
+    @Value("${booking.confirm.virtual-concurrency-limit:1000}")
+    private int confirmVirtualConcurrencyLimit;
+
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor bookingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("booking-fanout-");
+        return executor;
+    }
+
+    @Bean(name = "bookingTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualBookingTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("booking-fanout-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(virtualConcurrencyLimit);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor bookingConfirmExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(confirmPoolSize);
+        executor.setMaxPoolSize(confirmPoolSize);
+        executor.setQueueCapacity(confirmQueueCapacity);
+        executor.setThreadNamePrefix("booking-confirm-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * One virtual thread per confirmation; past the limit, callers wait for a slot
+     * instead of being rejected with 503
+     */
+    @Bean(name = "bookingConfirmExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualBookingConfirmExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("booking-confirm-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(confirmVirtualConcurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.travel.booking.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.travel.booking.client.AvailabilityCacheClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine near-cache for flight/hotel availability. Size and TTL come from
+ * spring.cache.caffeine.spec; hits and misses are published by Actuator as
+ * cache.gets, the hit ratio as booking.availability.cache.hit.ratio.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public MeterBinder availabilityCacheHitRatio(CacheManager cacheManager) {
+        return registry -> List.of(
+                AvailabilityCacheClient.FLIGHT_AVAILABILITY,
+                AvailabilityCacheClient.HOTEL_AVAILABILITY
+        ).forEach(name -> Gauge.builder("booking.availability.cache.hit.ratio",
+                        cacheManager, manager -> hitRatio(manager, name))
+                .tag("cache", name)
+                .register(registry));
+    }
+
+    private static double hitRatio(CacheManager cacheManager, String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache != null && cache.getNativeCache() instanceof Cache<?, ?> caffeineCache) {
+            return caffeineCache.stats().hitRate();
+        }
+        return Double.NaN;
+    }
+}
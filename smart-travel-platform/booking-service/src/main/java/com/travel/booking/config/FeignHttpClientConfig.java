@@ -0,0 +1,136 @@
+package com.travel.booking.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pooled keep-alive Apache HttpClient 5 transport for all Feign clients, replacing
+ * the default HttpURLConnection client. Pool size, per-route limit, connection TTL and
+ * the pool acquire timeout come from spring.cloud.openfeign.httpclient.*; idle eviction
+ * and the keep-alive cap from booking.feign.pool.*. Per-client connect/read timeouts
+ * still apply, and the resilience Capability wraps this client like any other.
+ * <p>
+ * Pool usage (leased, available, pending, max) is published as httpcomponents.httpclient.pool.*
+ * and the time spent waiting for a pooled connection as booking.feign.pool.acquire.
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Value("${booking.feign.pool.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${booking.feign.pool.keep-alive-seconds:60}")
+    private long keepAliveSeconds;
+
+    @Value("${booking.feign.pool.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    /**
+     * Replaces the connection manager Spring Cloud OpenFeign would build from the
+     * same properties, so that leases can be timed
+     */
+    @Bean
+    public HttpClientConnectionManager feignConnectionManager(FeignHttpClientProperties properties,
+                                                              MeterRegistry meterRegistry) {
+        FeignHttpClientProperties.Hc5Properties hc5 = properties.getHc5();
+        PoolingHttpClientConnectionManager connectionManager = new TimedPoolingConnectionManager(
+                PoolConcurrencyPolicy.valueOf(hc5.getPoolConcurrencyPolicy().name()),
+                PoolReusePolicy.valueOf(hc5.getPoolReusePolicy().name()),
+                TimeValue.of(properties.getTimeToLive(), properties.getTimeToLiveUnit()),
+                Timer.builder("booking.feign.pool.acquire")
+                        .description("Time Feign calls waited to lease a pooled connection")
+                        .publishPercentiles(0.95, 0.99)
+                        .register(meterRegistry));
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(Timeout.of(hc5.getSocketTimeout(), hc5.getSocketTimeoutUnit()))
+                .build());
+        connectionManager.setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs));
+        return connectionManager;
+    }
+
+    /**
+     * Close connections idle for too long and keep the rest alive no longer than
+     * the server allows, capped at keep-alive-seconds
+     */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer feignKeepAliveCustomizer() {
+        TimeValue keepAliveCap = TimeValue.ofSeconds(keepAliveSeconds);
+        return builder -> builder
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .setKeepAliveStrategy((response, context) -> keepAliveCap.min(
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context)));
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(HttpClientConnectionManager feignConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(
+                (PoolingHttpClientConnectionManager) feignConnectionManager, "feign");
+    }
+
+    private static final class TimedPoolingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer acquireTimer;
+
+        private TimedPoolingConnectionManager(PoolConcurrencyPolicy concurrencyPolicy,
+                                              PoolReusePolicy reusePolicy,
+                                              TimeValue timeToLive,
+                                              Timer acquireTimer) {
+            super(RegistryBuilder.<ConnectionSocketFactory>create()
+                            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                            .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                            .build(),
+                    concurrencyPolicy, reusePolicy, timeToLive);
+            this.acquireTimer = acquireTimer;
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return leaseRequest.get(timeout);
+                    } finally {
+                        acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return leaseRequest.cancel();
+                }
+            };
+        }
+    }
+}
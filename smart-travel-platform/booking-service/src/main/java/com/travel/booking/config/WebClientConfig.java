@@ -1,12 +1,28 @@
 package com.travel.booking.config;
 
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * WebClient configuration for User and Notification services
+ * WebClient configuration for User and Notification services, plus the
+ * Flight and Hotel clients used by the reactive booking mode.
+ * <p>
+ * Each target gets its own named, bounded reactor-netty connection pool so a slow
+ * service cannot take connections from the others. Pool size and response timeout
+ * can be overridden per target under services.*; the rest comes from booking.webclient.*.
+ * Pool usage is published as reactor.netty.connection.provider.* tagged by pool name.
  */
 @Configuration
 public class WebClientConfig {
@@ -17,6 +33,59 @@ public class WebClientConfig {
     @Value("${services.notification-service.url:http://localhost:8084}")
     private String notificationServiceUrl;
 
+    @Value("${services.flight-service.url:http://localhost:8082}")
+    private String flightServiceUrl;
+
+    @Value("${services.hotel-service.url:http://localhost:8083}")
+    private String hotelServiceUrl;
+
+    @Value("${services.user-service.max-connections:${booking.webclient.max-connections:50}}")
+    private int userServiceMaxConnections;
+
+    @Value("${services.notification-service.max-connections:${booking.webclient.max-connections:50}}")
+    private int notificationServiceMaxConnections;
+
+    @Value("${services.flight-service.max-connections:${booking.webclient.max-connections:50}}")
+    private int flightServiceMaxConnections;
+
+    @Value("${services.hotel-service.max-connections:${booking.webclient.max-connections:50}}")
+    private int hotelServiceMaxConnections;
+
+    @Value("${services.user-service.response-timeout-ms:${booking.webclient.response-timeout-ms:2000}}")
+    private long userServiceResponseTimeoutMs;
+
+    @Value("${services.notification-service.response-timeout-ms:${booking.webclient.response-timeout-ms:2000}}")
+    private long notificationServiceResponseTimeoutMs;
+
+    @Value("${services.flight-service.response-timeout-ms:${booking.webclient.response-timeout-ms:2000}}")
+    private long flightServiceResponseTimeoutMs;
+
+    @Value("${services.hotel-service.response-timeout-ms:${booking.webclient.response-timeout-ms:2000}}")
+    private long hotelServiceResponseTimeoutMs;
+
+    @Value("${booking.webclient.pending-acquire-max-count:100}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${booking.webclient.pending-acquire-timeout-ms:1000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${booking.webclient.max-idle-time-seconds:30}")
+    private long maxIdleTimeSeconds;
+
+    @Value("${booking.webclient.max-life-time-seconds:300}")
+    private long maxLifeTimeSeconds;
+
+    @Value("${booking.webclient.evict-interval-seconds:30}")
+    private long evictIntervalSeconds;
+
+    @Value("${booking.webclient.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${booking.webclient.max-in-memory-size:2MB}")
+    private DataSize maxInMemorySize;
+
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
@@ -24,15 +93,57 @@ public class WebClientConfig {
 
     @Bean
     public WebClient userServiceWebClient(WebClient.Builder builder) {
-        return builder
-                .baseUrl(userServiceUrl)
-                .build();
+        return build(builder, "user-service", userServiceUrl,
+                userServiceMaxConnections, userServiceResponseTimeoutMs);
     }
 
     @Bean
     public WebClient notificationServiceWebClient(WebClient.Builder builder) {
-        return builder
-                .baseUrl(notificationServiceUrl)
+        return build(builder, "notification-service", notificationServiceUrl,
+                notificationServiceMaxConnections, notificationServiceResponseTimeoutMs);
+    }
+
+    @Bean
+    public WebClient flightServiceWebClient(WebClient.Builder builder) {
+        return build(builder, "flight-service", flightServiceUrl,
+                flightServiceMaxConnections, flightServiceResponseTimeoutMs);
+    }
+
+    @Bean
+    public WebClient hotelServiceWebClient(WebClient.Builder builder) {
+        return build(builder, "hotel-service", hotelServiceUrl,
+                hotelServiceMaxConnections, hotelServiceResponseTimeoutMs);
+    }
+
+    @PreDestroy
+    public void disposeConnectionProviders() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+    }
+
+    private WebClient build(WebClient.Builder builder, String name, String baseUrl,
+                            int maxConnections, long responseTimeoutMs) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        // Load event loops, native transport and DNS resolver now rather than on the first request
+        httpClient.warmup().block();
+
+        // clone: the shared builder must not carry one target's settings into the next
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                 .build();
     }
 }
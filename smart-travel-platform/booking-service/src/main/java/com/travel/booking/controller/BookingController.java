@@ -1,42 +1,69 @@
 package com.travel.booking.controller;
 
-import com.travel.booking.dto.BookingDTO;
-import com.travel.booking.dto.BookingRequestDTO;
-import com.travel.booking.dto.BookingResponseDTO;
+import com.travel.booking.dto.*;
+import com.travel.booking.service.BookingConfirmationService;
 import com.travel.booking.service.BookingService;
+import com.travel.booking.service.IdempotencyService;
+import com.travel.booking.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "false", matchIfMissing = true)
 @Tag(name = "Booking Service", description = "Main orchestrator - Booking management APIs")
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingConfirmationService bookingConfirmationService;
+    private final IdempotencyService idempotencyService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
-    @Operation(summary = "Create new booking", description = "Orchestrates booking creation using Feign Client and WebClient")
-    public ResponseEntity<BookingResponseDTO> createBooking(@Valid @RequestBody BookingRequestDTO requestDTO) {
+    @Operation(summary = "Create new booking", description = "Orchestrates booking creation using Feign Client and WebClient. " +
+            "Repeats with the same Idempotency-Key replay the first response")
+    public ResponseEntity<BookingResponseDTO> createBooking(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingRequestDTO requestDTO) {
         log.info("POST /api/bookings - Creating new booking");
         
-        BookingDTO bookingDTO = bookingService.createBooking(requestDTO);
-        BookingResponseDTO response = new BookingResponseDTO(
-                true,
-                "Booking created successfully. Status: PENDING. Please proceed to payment.",
-                bookingDTO
-        );
+        return idempotencyService.execute(idempotencyKey, "POST /api/bookings", requestDTO, () -> {
+            BookingDTO bookingDTO = bookingService.createBooking(requestDTO);
+            BookingResponseDTO response = new BookingResponseDTO(
+                    true,
+                    "Booking created successfully. Status: PENDING. Please proceed to payment.",
+                    bookingDTO
+            );
+            
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        });
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in batch", 
+            description = "Validates distinct users, flights and hotels once each and returns a result per booking")
+    public ResponseEntity<BatchBookingResponseDTO> createBookings(@Valid @RequestBody BatchBookingRequestDTO requestDTO) {
+        log.info("POST /api/bookings/batch - Creating {} bookings", requestDTO.getBookings().size());
         
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        List<BatchBookingResultDTO> results = bookingService.createBookings(requestDTO.getBookings());
+        return ResponseEntity.ok(new BatchBookingResponseDTO(results));
     }
 
     @GetMapping("/{id}")
@@ -55,18 +82,57 @@ public class BookingController {
     }
 
     @PutMapping("/{id}/confirm")
-    @Operation(summary = "Confirm booking", description = "Called by Payment Service via WebClient")
-    public ResponseEntity<BookingResponseDTO> confirmBooking(@PathVariable Long id) {
+    @Operation(summary = "Confirm booking", 
+            description = "Called by Payment Service via WebClient. Queues the confirmation and returns 202; " +
+                    "follow progress via /{id}/status or /{id}/events")
+    public ResponseEntity<BookingResponseDTO> confirmBooking(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable Long id) {
         log.info("PUT /api/bookings/{}/confirm - Confirming booking (called by Payment Service)", id);
         
-        BookingDTO bookingDTO = bookingService.confirmBooking(id);
-        BookingResponseDTO response = new BookingResponseDTO(
-                true,
-                "Booking confirmed successfully",
-                bookingDTO
-        );
-        
-        return ResponseEntity.ok(response);
+        return idempotencyService.execute(idempotencyKey, "PUT /api/bookings/" + id + "/confirm", null, () -> {
+            BookingDTO bookingDTO;
+            try {
+                bookingDTO = bookingConfirmationService.submit(id);
+            } catch (TaskRejectedException e) {
+                log.warn("Confirmation queue is full, rejecting booking {}", id);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new BookingResponseDTO(false, "Confirmation queue is full, please retry", null));
+            }
+            
+            if (!"PENDING".equals(bookingDTO.getStatus())) {
+                return ResponseEntity.ok(new BookingResponseDTO(
+                        true,
+                        "Booking is already " + bookingDTO.getStatus(),
+                        bookingDTO
+                ));
+            }
+            
+            BookingResponseDTO response = new BookingResponseDTO(
+                    true,
+                    "Booking confirmation accepted",
+                    bookingDTO
+            );
+            
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/bookings/" + id + "/status"))
+                    .body(response);
+        });
+    }
+
+    @GetMapping("/{id}/status")
+    @Operation(summary = "Get booking status", description = "QUEUED/PROCESSING while a confirmation runs")
+    public ResponseEntity<BookingStatusDTO> getBookingStatus(@PathVariable Long id) {
+        log.info("GET /api/bookings/{}/status", id);
+        return ResponseEntity.ok(bookingConfirmationService.getStatus(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream booking status changes", description = "Server-sent events, closed once the booking leaves PENDING")
+    public SseEmitter streamBookingStatus(@PathVariable Long id) {
+        log.info("GET /api/bookings/{}/events", id);
+        return bookingConfirmationService.subscribe(id);
     }
 
     @GetMapping("/user/{userId}")
@@ -77,4 +143,26 @@ public class BookingController {
         List<BookingDTO> bookings = bookingService.getUserBookings(userId);
         return ResponseEntity.ok(bookings);
     }
+
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get user bookings page", 
+            description = "Keyset pagination in id order; pass nextCursor from the previous page as 'after'")
+    public ResponseEntity<BookingPageDTO> getUserBookingsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/bookings/user/{}/page?after={}&size={}", userId, after, size);
+        
+        return ResponseEntity.ok(bookingService.getUserBookingsPage(userId, after, size));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream user bookings", description = "All bookings of the user as NDJSON, one per line")
+    public ResponseEntity<ResponseBodyEmitter> streamUserBookings(@PathVariable Long userId) {
+        log.info("GET /api/bookings/user/{}/stream", userId);
+        
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(out -> bookingService.streamUserBookings(userId, out)));
+    }
 }
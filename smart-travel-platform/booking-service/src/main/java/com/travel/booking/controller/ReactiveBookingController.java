@@ -0,0 +1,153 @@
+package com.travel.booking.controller;
+
+import com.travel.booking.dto.BatchBookingRequestDTO;
+import com.travel.booking.dto.BatchBookingResponseDTO;
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.dto.BookingPageDTO;
+import com.travel.booking.dto.BookingRequestDTO;
+import com.travel.booking.dto.BookingResponseDTO;
+import com.travel.booking.dto.BookingStatusDTO;
+import com.travel.booking.service.BookingConfirmationService;
+import com.travel.booking.service.BookingService;
+import com.travel.booking.service.IdempotencyService;
+import com.travel.booking.service.NdjsonExporter;
+import com.travel.booking.service.ReactiveBookingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive variant of {@link BookingController}, enabled with booking.reactive.enabled=true.
+ * Handlers return {@link Mono} so the request thread is released while downstream calls are in flight.
+ * Confirmations run inline and are reported to {@link BookingConfirmationService}, so /{id}/status
+ * and /{id}/events behave as in the servlet controller.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+@Tag(name = "Booking Service", description = "Main orchestrator - Booking management APIs (reactive)")
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService reactiveBookingService;
+    private final BookingService bookingService;
+    private final BookingConfirmationService bookingConfirmationService;
+    private final IdempotencyService idempotencyService;
+    private final NdjsonExporter ndjsonExporter;
+
+    @PostMapping
+    @Operation(summary = "Create new booking", description = "Orchestrates booking creation using WebClient only")
+    public Mono<ResponseEntity<BookingResponseDTO>> createBooking(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingRequestDTO requestDTO) {
+        log.info("POST /api/bookings - Creating new booking (reactive)");
+
+        return idempotencyService.executeReactive(idempotencyKey, "POST /api/bookings", requestDTO, () ->
+                reactiveBookingService.createBooking(requestDTO)
+                        .map(bookingDTO -> new ResponseEntity<>(new BookingResponseDTO(
+                                true,
+                                "Booking created successfully. Status: PENDING. Please proceed to payment.",
+                                bookingDTO
+                        ), HttpStatus.CREATED)));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in batch",
+            description = "Validates distinct users, flights and hotels once each and returns a result per booking")
+    public Mono<ResponseEntity<BatchBookingResponseDTO>> createBookings(@Valid @RequestBody BatchBookingRequestDTO requestDTO) {
+        log.info("POST /api/bookings/batch - Creating {} bookings (reactive)", requestDTO.getBookings().size());
+
+        return reactiveBookingService.createBookings(requestDTO.getBookings())
+                .map(results -> ResponseEntity.ok(new BatchBookingResponseDTO(results)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get booking by ID")
+    public Mono<ResponseEntity<BookingResponseDTO>> getBookingById(@PathVariable Long id) {
+        log.info("GET /api/bookings/{}", id);
+
+        return reactiveBookingService.getBookingById(id)
+                .map(bookingDTO -> ResponseEntity.ok(new BookingResponseDTO(
+                        true,
+                        "Booking retrieved successfully",
+                        bookingDTO
+                )));
+    }
+
+    @PutMapping("/{id}/confirm")
+    @Operation(summary = "Confirm booking", description = "Called by Payment Service via WebClient")
+    public Mono<ResponseEntity<BookingResponseDTO>> confirmBooking(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable Long id) {
+        log.info("PUT /api/bookings/{}/confirm - Confirming booking (reactive)", id);
+
+        return idempotencyService.executeReactive(idempotencyKey, "PUT /api/bookings/" + id + "/confirm", null, () ->
+                reactiveBookingService.confirmBooking(id)
+                        .map(bookingDTO -> ResponseEntity.ok(new BookingResponseDTO(
+                                true,
+                                "Booking confirmed successfully",
+                                bookingDTO
+                        ))));
+    }
+
+    @GetMapping("/{id}/status")
+    @Operation(summary = "Get booking status", description = "PROCESSING while a confirmation runs")
+    public Mono<ResponseEntity<BookingStatusDTO>> getBookingStatus(@PathVariable Long id) {
+        log.info("GET /api/bookings/{}/status", id);
+
+        return reactiveBookingService.getStatus(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream booking status changes", description = "Server-sent events, closed once the booking leaves PENDING")
+    public SseEmitter streamBookingStatus(@PathVariable Long id) {
+        log.info("GET /api/bookings/{}/events", id);
+        return bookingConfirmationService.subscribe(id);
+    }
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get user bookings")
+    public Mono<ResponseEntity<List<BookingDTO>>> getUserBookings(@PathVariable Long userId) {
+        log.info("GET /api/bookings/user/{}", userId);
+
+        return reactiveBookingService.getUserBookings(userId)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get user bookings page", 
+            description = "Keyset pagination in id order; pass nextCursor from the previous page as 'after'")
+    public Mono<ResponseEntity<BookingPageDTO>> getUserBookingsPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/bookings/user/{}/page?after={}&size={}", userId, after, size);
+
+        return reactiveBookingService.getUserBookingsPage(userId, after, size)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream user bookings", description = "All bookings of the user as NDJSON, one per line")
+    public ResponseEntity<ResponseBodyEmitter> streamUserBookings(@PathVariable Long userId) {
+        log.info("GET /api/bookings/user/{}/stream", userId);
+
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(out -> bookingService.streamUserBookings(userId, out)));
+    }
+}
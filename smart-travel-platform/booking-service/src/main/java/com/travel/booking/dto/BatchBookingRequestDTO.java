@@ -0,0 +1,20 @@
+package com.travel.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequestDTO {
+
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 500, message = "At most 500 bookings per batch")
+    private List<@Valid BookingRequestDTO> bookings;
+}
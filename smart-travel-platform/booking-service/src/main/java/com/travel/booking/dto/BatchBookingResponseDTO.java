@@ -0,0 +1,29 @@
+package com.travel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponseDTO {
+    private boolean success;
+    private String message;
+    private int created;
+    private int failed;
+    private List<BatchBookingResultDTO> results;
+    private LocalDateTime timestamp;
+
+    public BatchBookingResponseDTO(List<BatchBookingResultDTO> results) {
+        this.created = (int) results.stream().filter(BatchBookingResultDTO::isSuccess).count();
+        this.failed = results.size() - created;
+        this.success = failed == 0;
+        this.message = String.format("%d bookings created, %d failed", created, failed);
+        this.results = results;
+        this.timestamp = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.travel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResultDTO {
+    private int index;
+    private boolean success;
+    private String message;
+    private BookingDTO data;
+}
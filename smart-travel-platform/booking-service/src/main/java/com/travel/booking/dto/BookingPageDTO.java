@@ -0,0 +1,16 @@
+package com.travel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDTO {
+    private List<BookingDTO> bookings;
+    private Long nextCursor; // pass as "after" to get the next page; null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.travel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusDTO {
+    private Long bookingId;
+    private String status; // QUEUED, PROCESSING while confirming; otherwise the booking status
+    private String message;
+    private LocalDateTime timestamp;
+
+    public BookingStatusDTO(Long bookingId, String status, String message) {
+        this.bookingId = bookingId;
+        this.status = status;
+        this.message = message;
+        this.timestamp = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,14 @@
+package com.travel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequestDTO {
+    private List<NotificationRequestDTO> notifications;
+}
@@ -9,4 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class RoomReservationDTO {
     private Integer numberOfRooms;
+
+    // Lets the downstream service recognise a repeated reserve and release only what this booking holds
+    private Long bookingId;
 }
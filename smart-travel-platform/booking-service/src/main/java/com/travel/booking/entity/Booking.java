@@ -9,14 +9,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+        indexes = {
+                @Index(name = "idx_bookings_user_id_id", columnList = "user_id, id"),
+                @Index(name = "idx_bookings_status_created_at", columnList = "status, created_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
 
+    // Sequence (not IDENTITY) ids so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,7 +53,7 @@ public class Booking {
     private Double totalCost;
 
     @Column(nullable = false)
-    private String status; // PENDING, CONFIRMED, CANCELLED, FAILED
+    private String status; // PENDING, CONFIRMED, CANCELLED, FAILED, EXPIRED
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -0,0 +1,65 @@
+package com.travel.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted state of a booking confirmation saga (one per booking)
+ */
+@Entity
+@Table(name = "booking_sagas",
+        indexes = @Index(name = "idx_booking_sagas_status_updated_at", columnList = "status, updated_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private String status; // STARTED, RESERVED, COMPLETED, COMPENSATING, COMPENSATED, FAILED
+
+    @Column(nullable = false)
+    private String flightStep; // PENDING, RESERVED, REJECTED, UNKNOWN, RELEASED, RELEASE_FAILED
+
+    @Column(nullable = false)
+    private String hotelStep; // PENDING, RESERVED, REJECTED, UNKNOWN, RELEASED, RELEASE_FAILED
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) {
+            status = "STARTED";
+        }
+        if (flightStep == null) {
+            flightStep = "PENDING";
+        }
+        if (hotelStep == null) {
+            hotelStep = "PENDING";
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,13 +1,58 @@
 package com.travel.booking.repository;
 
 import com.travel.booking.entity.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserId(Long userId);
     List<Booking> findByStatus(String status);
+
+    /**
+     * Keyset page of a user's bookings, served by the (user_id, id) index
+     */
+    List<Booking> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit);
+
+    /**
+     * Oldest PENDING bookings created before the cutoff with no confirmation saga,
+     * served by the (status, created_at) index
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.createdAt < :cutoff " +
+            "AND NOT EXISTS (SELECT s.id FROM BookingSaga s WHERE s.bookingId = b.id) ORDER BY b.createdAt")
+    List<Long> findStalePendingIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Expire the given bookings if they are still PENDING and no confirmation saga has started.
+     * Runs and commits on its own so each batch holds its row locks only briefly.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED' WHERE b.id IN :ids AND b.status = 'PENDING' " +
+            "AND NOT EXISTS (SELECT s.id FROM BookingSaga s WHERE s.bookingId = b.id)")
+    int expirePending(@Param("ids") List<Long> ids);
+
+    /**
+     * Confirm the booking only if it is still PENDING; returns 0 if it has meanwhile
+     * been expired or otherwise settled
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED', b.confirmedAt = :confirmedAt " +
+            "WHERE b.id = :id AND b.status = 'PENDING'")
+    int confirmPending(@Param("id") Long id, @Param("confirmedAt") LocalDateTime confirmedAt);
+
+    /**
+     * Fail the booking only if it is still PENDING, leaving an EXPIRED booking as it is
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'FAILED' WHERE b.id = :id AND b.status = 'PENDING'")
+    int failPending(@Param("id") Long id);
 }
@@ -0,0 +1,31 @@
+package com.travel.booking.repository;
+
+import com.travel.booking.entity.BookingSaga;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSagaRepository extends JpaRepository<BookingSaga, Long> {
+
+    /**
+     * Sagas in one of the given states that have not been updated since the cutoff, oldest first
+     */
+    List<BookingSaga> findByStatusInAndUpdatedAtBeforeOrderByUpdatedAt(Collection<String> statuses,
+                                                                       LocalDateTime cutoff, Limit limit);
+
+    /**
+     * FAILED sagas not updated since the cutoff that still have a step whose reservation may
+     * be held (UNKNOWN) or was not given back (RELEASE_FAILED), oldest first
+     */
+    @Query("SELECT s FROM BookingSaga s WHERE s.status = 'FAILED' AND s.updatedAt < :cutoff " +
+            "AND (s.flightStep IN ('UNKNOWN', 'RELEASE_FAILED') OR s.hotelStep IN ('UNKNOWN', 'RELEASE_FAILED')) " +
+            "ORDER BY s.updatedAt")
+    List<BookingSaga> findUnresolvedFailed(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+}
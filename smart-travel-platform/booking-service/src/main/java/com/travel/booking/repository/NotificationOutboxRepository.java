@@ -0,0 +1,15 @@
+package com.travel.booking.repository;
+
+import com.travel.booking.entity.NotificationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    List<NotificationOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            String status, LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,179 @@
+package com.travel.booking.service;
+
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.dto.BookingStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs booking confirmations on the bounded bookingConfirmExecutor instead of the
+ * request thread, and reports their progress for polling and server-sent events.
+ * A booking is queued at most once at a time; when the queue is full, submit
+ * throws {@link TaskRejectedException}. With booking.reactive.enabled=true, confirmations
+ * run inline in {@link ReactiveBookingService} and are reported here through
+ * {@link #processing} and {@link #settled}.
+ */
+@Service
+@Slf4j
+public class BookingConfirmationService {
+
+    private final BookingService bookingService;
+    private final AsyncTaskExecutor bookingConfirmExecutor;
+    private final long sseTimeoutMs;
+
+    private final Map<Long, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public BookingConfirmationService(BookingService bookingService,
+                                      AsyncTaskExecutor bookingConfirmExecutor,
+                                      @Value("${booking.confirm.sse-timeout-ms:300000}") long sseTimeoutMs) {
+        this.bookingService = bookingService;
+        this.bookingConfirmExecutor = bookingConfirmExecutor;
+        this.sseTimeoutMs = sseTimeoutMs;
+    }
+
+    /**
+     * Queue the confirmation of a PENDING booking; other bookings are returned unchanged
+     */
+    public BookingDTO submit(Long bookingId) {
+        BookingDTO booking = bookingService.getBookingById(bookingId);
+        if (!"PENDING".equals(booking.getStatus()) || inFlight.putIfAbsent(bookingId, "QUEUED") != null) {
+            return booking;
+        }
+
+        publish(new BookingStatusDTO(bookingId, "QUEUED", "Confirmation queued"));
+        try {
+            bookingConfirmExecutor.execute(() -> process(bookingId));
+        } catch (TaskRejectedException e) {
+            inFlight.remove(bookingId);
+            publish(new BookingStatusDTO(bookingId, "PENDING", "Confirmation queue is full, please retry"));
+            throw e;
+        }
+        log.info("📥 Booking {} queued for confirmation", bookingId);
+        return booking;
+    }
+
+    public BookingStatusDTO getStatus(Long bookingId) {
+        String phase = inFlight.get(bookingId);
+        if (phase != null) {
+            return new BookingStatusDTO(bookingId, phase, "Confirmation in progress");
+        }
+        BookingDTO booking = bookingService.getBookingById(bookingId);
+        return new BookingStatusDTO(bookingId, booking.getStatus(), "Booking is " + booking.getStatus());
+    }
+
+    /**
+     * Stream status changes of a booking; the stream ends once the booking leaves PENDING.
+     * Bookings that are unknown or already settled get their status and are not registered.
+     */
+    public SseEmitter subscribe(Long bookingId) {
+        BookingStatusDTO current = getStatus(bookingId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        if (isTerminal(current.getStatus())) {
+            send(emitter, current);
+            emitter.complete();
+            return emitter;
+        }
+
+        register(bookingId, emitter);
+        emitter.onCompletion(() -> unregister(bookingId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(bookingId, emitter));
+
+        // Read again now that the emitter is registered, so a change in between is not missed
+        current = getStatus(bookingId);
+        send(emitter, current);
+        if (isTerminal(current.getStatus())) {
+            unregister(bookingId, emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Mark a booking as being confirmed, for confirmations run outside the queue as well
+     */
+    public void processing(Long bookingId) {
+        inFlight.put(bookingId, "PROCESSING");
+        publish(new BookingStatusDTO(bookingId, "PROCESSING", "Reserving flight and hotel"));
+    }
+
+    /**
+     * Report how a confirmation ended; a terminal status ends the booking's event streams
+     */
+    public void settled(BookingStatusDTO outcome) {
+        inFlight.remove(outcome.getBookingId());
+        publish(outcome);
+    }
+
+    private void process(Long bookingId) {
+        processing(bookingId);
+
+        BookingStatusDTO outcome;
+        try {
+            BookingDTO booking = bookingService.confirmBooking(bookingId);
+            outcome = new BookingStatusDTO(bookingId, booking.getStatus(), "Booking is " + booking.getStatus());
+        } catch (Exception e) {
+            outcome = new BookingStatusDTO(bookingId, "FAILED", e.getMessage());
+        } finally {
+            inFlight.remove(bookingId);
+        }
+        publish(outcome);
+    }
+
+    private void publish(BookingStatusDTO status) {
+        List<SseEmitter> emitters = isTerminal(status.getStatus())
+                ? subscribers.remove(status.getBookingId())
+                : subscribers.get(status.getBookingId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, status);
+            if (isTerminal(status.getStatus())) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void register(Long bookingId, SseEmitter emitter) {
+        subscribers.compute(bookingId, (id, emitters) -> {
+            List<SseEmitter> registered = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            registered.add(emitter);
+            return registered;
+        });
+    }
+
+    /**
+     * Drop one emitter, and the booking's entry with its last one
+     */
+    private void unregister(Long bookingId, SseEmitter emitter) {
+        subscribers.computeIfPresent(bookingId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void send(SseEmitter emitter, BookingStatusDTO status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping status subscriber for booking {}: {}", status.getBookingId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private boolean isTerminal(String status) {
+        return !"PENDING".equals(status) && !"QUEUED".equals(status) && !"PROCESSING".equals(status);
+    }
+}
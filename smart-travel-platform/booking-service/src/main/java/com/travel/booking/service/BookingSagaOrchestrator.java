@@ -0,0 +1,287 @@
+package com.travel.booking.service;
+
+import com.travel.booking.client.DownstreamResilience;
+import com.travel.booking.client.FlightFeignClient;
+import com.travel.booking.client.FlightReactiveClient;
+import com.travel.booking.client.HotelFeignClient;
+import com.travel.booking.client.HotelReactiveClient;
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.dto.ReservationDTO;
+import com.travel.booking.dto.RoomReservationDTO;
+import com.travel.booking.entity.BookingSaga;
+import com.travel.booking.repository.BookingSagaRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Booking confirmation saga. The flight and hotel reservations are issued concurrently;
+ * if only one of them succeeds it is compensated through the matching release endpoint.
+ * <p>
+ * Saga state is written to booking_sagas after every step. A reservation whose outcome
+ * is unknown (timeout, connection reset) is neither assumed done nor compensated: the
+ * saga ends FAILED with that step UNKNOWN so it can be reconciled. Sagas left mid-way by a
+ * crash are finished by {@link BookingSagaReconciler}.
+ * <p>
+ * Every reserve and release carries the booking id, so a release gives back only what the
+ * booking holds; that is what lets {@link #resolve} settle UNKNOWN steps.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSagaOrchestrator {
+
+    private final BookingSagaRepository bookingSagaRepository;
+    private final FlightFeignClient flightFeignClient;
+    private final HotelFeignClient hotelFeignClient;
+    private final FlightReactiveClient flightReactiveClient;
+    private final HotelReactiveClient hotelReactiveClient;
+    private final AsyncTaskExecutor bookingTaskExecutor;
+
+    /**
+     * Record the start of the saga; fails if the booking is already being confirmed
+     */
+    public BookingSaga start(BookingDTO booking) {
+        BookingSaga saga = new BookingSaga();
+        saga.setBookingId(booking.getId());
+        try {
+            return bookingSagaRepository.saveAndFlush(saga);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Booking " + booking.getId() + " is already being confirmed");
+        }
+    }
+
+    /**
+     * Reserve seats and the room over Feign, blocking until the saga step settles
+     */
+    public void reserve(BookingSaga saga, BookingDTO booking) {
+        join(reserve(saga,
+                () -> CompletableFuture.runAsync(() -> flightFeignClient.reserveSeats(
+                        booking.getFlightId(), seats(booking)), bookingTaskExecutor),
+                () -> CompletableFuture.runAsync(() -> hotelFeignClient.reserveRooms(
+                        booking.getHotelId(), room(booking)), bookingTaskExecutor),
+                feignRelease(booking)));
+    }
+
+    /**
+     * Reactive counterpart of {@link #reserve(BookingSaga, BookingDTO)} using WebClient
+     */
+    public Mono<Void> reserveReactive(BookingSaga saga, BookingDTO booking) {
+        return Mono.fromFuture(() -> reserve(saga,
+                () -> flightReactiveClient.reserveSeats(
+                        booking.getFlightId(), seats(booking)).toFuture(),
+                () -> hotelReactiveClient.reserveRooms(
+                        booking.getHotelId(), room(booking)).toFuture(),
+                reactiveRelease(booking)));
+    }
+
+    public void complete(BookingSaga saga) {
+        saga.setStatus("COMPLETED");
+        bookingSagaRepository.save(saga);
+    }
+
+    /**
+     * Release both reservations of a RESERVED saga whose booking could not be confirmed
+     */
+    public void compensate(BookingSaga saga, BookingDTO booking) {
+        join(compensate(saga, feignRelease(booking), "RESERVED"::equals).exceptionally(e -> null));
+    }
+
+    public Mono<Void> compensateReactive(BookingSaga saga, BookingDTO booking) {
+        return Mono.fromFuture(() -> compensate(saga, reactiveRelease(booking), "RESERVED"::equals))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    /**
+     * Settle a FAILED saga's UNKNOWN and RELEASE_FAILED steps by releasing them by booking id;
+     * the downstream service gives back only what the booking holds, so this is safe whether
+     * or not the reservation went through, and a reservation still on its way is refused
+     */
+    public void resolve(BookingSaga saga, BookingDTO booking) {
+        join(compensate(saga, feignRelease(booking), step -> !isSettled(step)).exceptionally(e -> null));
+    }
+
+    /**
+     * Give up on a saga whose reservation calls may or may not have gone through; nothing is
+     * released yet, {@link BookingSagaReconciler} resolves the UNKNOWN steps once the saga
+     * has gone stale
+     */
+    public void abandon(BookingSaga saga, String reason) {
+        if ("PENDING".equals(saga.getFlightStep())) {
+            saga.setFlightStep("UNKNOWN");
+        }
+        if ("PENDING".equals(saga.getHotelStep())) {
+            saga.setHotelStep("UNKNOWN");
+        }
+        saga.setFailureReason(reason);
+        saga.setStatus("FAILED");
+        bookingSagaRepository.save(saga);
+        log.error("❌ Saga {} needs reconciliation (flight: {}, hotel: {})",
+                saga.getId(), saga.getFlightStep(), saga.getHotelStep());
+    }
+
+    private CompletableFuture<Void> reserve(BookingSaga saga,
+                                            Supplier<CompletableFuture<?>> reserveFlight,
+                                            Supplier<CompletableFuture<?>> reserveHotel,
+                                            Release release) {
+        log.info("🧭 Saga {}: reserving flight {} and hotel {} concurrently", saga.getId(),
+                release.booking().getFlightId(), release.booking().getHotelId());
+        CompletableFuture<Throwable> flight = attempt(reserveFlight);
+        CompletableFuture<Throwable> hotel = attempt(reserveHotel);
+
+        // Settle off the completing thread, which may be a Netty event loop
+        return flight.thenCombine(hotel, (flightError, hotelError) -> new Throwable[]{flightError, hotelError})
+                .thenComposeAsync(errors -> settle(saga, errors[0], errors[1], release), bookingTaskExecutor);
+    }
+
+    private CompletableFuture<Void> settle(BookingSaga saga, Throwable flightError, Throwable hotelError,
+                                           Release release) {
+        saga.setFlightStep(reservationOutcome(flightError));
+        saga.setHotelStep(reservationOutcome(hotelError));
+        if (flightError == null && hotelError == null) {
+            saga.setStatus("RESERVED");
+            bookingSagaRepository.save(saga);
+            log.info("✅ Saga {}: flight and hotel reserved", saga.getId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String reason = flightError != null
+                ? "Flight reservation failed: " + unwrap(flightError).getMessage()
+                : "Hotel reservation failed: " + unwrap(hotelError).getMessage();
+        saga.setFailureReason(reason);
+        return compensate(saga, release, "RESERVED"::equals).thenRun(() -> {
+            throw new CompletionException(new RuntimeException(reason));
+        });
+    }
+
+    /**
+     * Release the steps the predicate selects and record the outcome
+     */
+    private CompletableFuture<Void> compensate(BookingSaga saga, Release release, Predicate<String> toRelease) {
+        saga.setStatus("COMPENSATING");
+        bookingSagaRepository.save(saga);
+
+        CompletableFuture<Void> flight = CompletableFuture.completedFuture(null);
+        if (toRelease.test(saga.getFlightStep())) {
+            log.warn("↩️ Saga {}: releasing {} seats on flight {}", saga.getId(),
+                    release.booking().getNumberOfPassengers(), release.booking().getFlightId());
+            flight = attempt(release.flight()).thenAccept(e -> saga.setFlightStep(releaseOutcome(e)));
+        }
+        CompletableFuture<Void> hotel = CompletableFuture.completedFuture(null);
+        if (toRelease.test(saga.getHotelStep())) {
+            log.warn("↩️ Saga {}: releasing 1 room at hotel {}", saga.getId(), release.booking().getHotelId());
+            hotel = attempt(release.hotel()).thenAccept(e -> saga.setHotelStep(releaseOutcome(e)));
+        }
+
+        return CompletableFuture.allOf(flight, hotel).thenRunAsync(() -> {
+            boolean clean = isSettled(saga.getFlightStep()) && isSettled(saga.getHotelStep());
+            saga.setStatus(clean ? "COMPENSATED" : "FAILED");
+            bookingSagaRepository.save(saga);
+            if (clean) {
+                log.info("Saga {} compensated (flight: {}, hotel: {})",
+                        saga.getId(), saga.getFlightStep(), saga.getHotelStep());
+            } else {
+                log.error("❌ Saga {} needs reconciliation (flight: {}, hotel: {})",
+                        saga.getId(), saga.getFlightStep(), saga.getHotelStep());
+            }
+        }, bookingTaskExecutor);
+    }
+
+    /**
+     * Run a step and complete with its error, or with null when it succeeded
+     */
+    private CompletableFuture<Throwable> attempt(Supplier<CompletableFuture<?>> step) {
+        try {
+            return step.get().handle((ignored, e) -> e == null ? null : unwrap(e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(e);
+        }
+    }
+
+    private Release feignRelease(BookingDTO booking) {
+        return new Release(booking,
+                () -> CompletableFuture.runAsync(() -> flightFeignClient.releaseSeats(
+                        booking.getFlightId(), seats(booking)), bookingTaskExecutor),
+                () -> CompletableFuture.runAsync(() -> hotelFeignClient.releaseRooms(
+                        booking.getHotelId(), room(booking)), bookingTaskExecutor));
+    }
+
+    private Release reactiveRelease(BookingDTO booking) {
+        return new Release(booking,
+                () -> flightReactiveClient.releaseSeats(
+                        booking.getFlightId(), seats(booking)).toFuture(),
+                () -> hotelReactiveClient.releaseRooms(
+                        booking.getHotelId(), room(booking)).toFuture());
+    }
+
+    private ReservationDTO seats(BookingDTO booking) {
+        return new ReservationDTO(booking.getNumberOfPassengers(), booking.getId());
+    }
+
+    private RoomReservationDTO room(BookingDTO booking) {
+        return new RoomReservationDTO(1, booking.getId());
+    }
+
+    private String reservationOutcome(Throwable e) {
+        if (e == null) {
+            return "RESERVED";
+        }
+        return isDefinite(e) ? "REJECTED" : "UNKNOWN";
+    }
+
+    private String releaseOutcome(Throwable e) {
+        return e == null ? "RELEASED" : "RELEASE_FAILED";
+    }
+
+    private boolean isSettled(String step) {
+        return !"UNKNOWN".equals(step) && !"RELEASE_FAILED".equals(step);
+    }
+
+    /**
+     * True when the downstream service answered (or the call never left), i.e. nothing was reserved
+     */
+    private boolean isDefinite(Throwable e) {
+        return (e instanceof FeignException feignException && feignException.status() > 0)
+                || e instanceof WebClientResponseException
+                || e instanceof RejectedExecutionException
+                || DownstreamResilience.isRejected(e);
+    }
+
+    private void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    private Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private record Release(BookingDTO booking,
+                           Supplier<CompletableFuture<?>> flight,
+                           Supplier<CompletableFuture<?>> hotel) {
+    }
+}
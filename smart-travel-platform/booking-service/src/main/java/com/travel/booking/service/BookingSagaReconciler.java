@@ -0,0 +1,105 @@
+package com.travel.booking.service;
+
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.entity.BookingSaga;
+import com.travel.booking.repository.BookingSagaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finishes confirmation sagas left mid-way by a crash or restart.
+ * <p>
+ * A saga still STARTED, RESERVED or COMPENSATING that has not been updated for
+ * stale-after-minutes (well past any confirmation's own timeouts) is taken over:
+ * <ul>
+ *   <li>RESERVED: both reservations are held, so a booking that is still PENDING is
+ *   confirmed; otherwise (including one expired while being confirmed) the reservations
+ *   are released</li>
+ *   <li>COMPENSATING: the releases not yet done are retried</li>
+ *   <li>STARTED: the reservation calls may or may not have gone through, so the saga ends
+ *   FAILED with those steps UNKNOWN</li>
+ *   <li>FAILED with a step UNKNOWN or RELEASE_FAILED: that step is released by booking id,
+ *   which gives back only what the booking holds</li>
+ * </ul>
+ * A booking that is not confirmed is marked FAILED.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSagaReconciler {
+
+    private static final List<String> IN_FLIGHT = List.of("STARTED", "RESERVED", "COMPENSATING");
+
+    private final BookingSagaRepository bookingSagaRepository;
+    private final BookingSagaOrchestrator bookingSagaOrchestrator;
+    private final BookingService bookingService;
+
+    @Value("${booking.saga.stale-after-minutes:5}")
+    private long staleAfterMinutes;
+
+    @Value("${booking.saga.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${booking.saga.reconcile-interval-ms:60000}",
+            initialDelayString = "${booking.saga.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        List<BookingSaga> stale = new ArrayList<>(bookingSagaRepository
+                .findByStatusInAndUpdatedAtBeforeOrderByUpdatedAt(IN_FLIGHT, cutoff, Limit.of(batchSize)));
+        stale.addAll(bookingSagaRepository.findUnresolvedFailed(cutoff, Limit.of(batchSize)));
+        for (BookingSaga saga : stale) {
+            try {
+                reconcile(saga);
+            } catch (RuntimeException e) {
+                log.error("Saga {} could not be reconciled, will retry: {}", saga.getId(), e.getMessage());
+            }
+        }
+    }
+
+    void reconcile(BookingSaga saga) {
+        log.warn("🧭 Saga {} for booking {} stuck in {}, reconciling",
+                saga.getId(), saga.getBookingId(), saga.getStatus());
+        BookingDTO booking = bookingService.getBookingById(saga.getBookingId());
+        
+        switch (saga.getStatus()) {
+            case "RESERVED" -> {
+                if ("CONFIRMED".equals(booking.getStatus())) {
+                    bookingSagaOrchestrator.complete(saga);
+                    return;
+                }
+                if ("PENDING".equals(booking.getStatus()) && confirm(booking)) {
+                    bookingSagaOrchestrator.complete(saga);
+                    log.info("✅ Booking {} CONFIRMED by saga reconciliation", booking.getId());
+                    return;
+                }
+                bookingSagaOrchestrator.compensate(saga, booking);
+            }
+            case "COMPENSATING" -> bookingSagaOrchestrator.compensate(saga, booking);
+            case "FAILED" -> bookingSagaOrchestrator.resolve(saga, booking);
+            default -> bookingSagaOrchestrator.abandon(saga, "Interrupted before the reservations settled");
+        }
+        
+        if ("PENDING".equals(booking.getStatus())) {
+            bookingService.markFailed(booking.getId());
+        }
+    }
+
+    private boolean confirm(BookingDTO booking) {
+        try {
+            bookingService.markConfirmed(booking.getId());
+            return true;
+        } catch (IllegalStateException e) {
+            log.warn("Booking {} settled before it could be confirmed, releasing: {}",
+                    booking.getId(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,19 +1,45 @@
 package com.travel.booking.service;
 
+import com.travel.booking.client.AvailabilityCacheClient;
+import com.travel.booking.client.DownstreamResilience;
 import com.travel.booking.client.FlightFeignClient;
 import com.travel.booking.client.HotelFeignClient;
+import com.travel.booking.client.RequestHedger;
 import com.travel.booking.dto.*;
 import com.travel.booking.entity.Booking;
+import com.travel.booking.entity.BookingSaga;
 import com.travel.booking.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -27,47 +53,138 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final FlightFeignClient flightFeignClient;
     private final HotelFeignClient hotelFeignClient;
+    private final AvailabilityCacheClient availabilityCacheClient;
+    private final DownstreamResilience downstreamResilience;
+    private final RequestHedger requestHedger;
     private final WebClient userServiceWebClient;
-    private final WebClient notificationServiceWebClient;
+    private final AsyncTaskExecutor bookingTaskExecutor;
+    private final BookingSagaOrchestrator bookingSagaOrchestrator;
+    private final NotificationOutboxRelay notificationOutboxRelay;
+    private final TransactionTemplate transactionTemplate;
+    private final NdjsonExporter ndjsonExporter;
+
+    @Value("${booking.fan-out.timeout-ms:6000}")
+    private long fanOutTimeoutMs;
+
+    @Value("${booking.batch.user-validation-concurrency:20}")
+    private int batchUserConcurrency;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String USER_BOOKINGS_SQL =
+            "SELECT id, user_id, flight_id, hotel_id, travel_date, number_of_nights, number_of_passengers, " +
+            "flight_cost, hotel_cost, total_cost, status, created_at, confirmed_at " +
+            "FROM bookings WHERE user_id = ? ORDER BY id";
 
     @Transactional
     public BookingDTO createBooking(BookingRequestDTO requestDTO) {
         log.info("🎫 Creating booking for user {}", requestDTO.getUserId());
         
-        // Step 1: Validate user via WebClient
-        log.info("Step 1: Validating user {} via WebClient", requestDTO.getUserId());
-        validateUserViaWebClient(requestDTO.getUserId());
+        // Steps 1-3: Validate user and check flight/hotel availability in parallel
+        log.info("Steps 1-3: Validating user {} via WebClient and checking flight {} / hotel {} via Feign Client",
+                requestDTO.getUserId(), requestDTO.getFlightId(), requestDTO.getHotelId());
+        CompletableFuture<Void> userCheck = validateUserViaWebClient(requestDTO.getUserId());
+        CompletableFuture<FlightAvailabilityDTO> flightCheck = submitCancellable(
+                () -> availabilityCacheClient.getFlightAvailability(requestDTO.getFlightId()));
+        CompletableFuture<HotelAvailabilityDTO> hotelCheck = submitCancellable(
+                () -> availabilityCacheClient.getHotelAvailability(requestDTO.getHotelId()));
+        awaitAll(userCheck, flightCheck, hotelCheck);
+
+        return savePendingBooking(requestDTO, flightCheck.join(), hotelCheck.join());
+    }
+
+    /**
+     * Steps 4-5 of booking creation, shared by the blocking and the reactive mode
+     */
+    @Transactional
+    public BookingDTO savePendingBooking(BookingRequestDTO requestDTO,
+                                         FlightAvailabilityDTO flightAvailability,
+                                         HotelAvailabilityDTO hotelAvailability) {
+        log.info("Step 4: Calculating total cost");
+        Booking booking = buildPendingBooking(requestDTO, flightAvailability, hotelAvailability);
+        
+        // Step 5: Save booking as PENDING
+        log.info("Step 5: Saving booking as PENDING");
+        Booking savedBooking = bookingRepository.save(booking);
+        log.info("✅ Booking created with ID: {} - Status: PENDING - Total: ${}", 
+                savedBooking.getId(), savedBooking.getTotalCost());
+        log.info("💳 Please proceed to Payment Service with booking ID: {}", savedBooking.getId());
+        
+        return convertToDTO(savedBooking);
+    }
+
+    /**
+     * Create many bookings at once. Distinct users are validated in parallel, distinct
+     * flights and hotels are resolved with one batch call each, and the PENDING
+     * bookings are written with JDBC batch inserts. Each item gets its own result.
+     */
+    @Transactional
+    public List<BatchBookingResultDTO> createBookings(List<BookingRequestDTO> requests) {
+        log.info("🎫 Creating {} bookings in batch", requests.size());
+        
+        CompletableFuture<Map<Long, String>> userCheck = validateUsers(
+                requests.stream().map(BookingRequestDTO::getUserId).distinct().toList());
+        Set<Long> flightIds = requests.stream().map(BookingRequestDTO::getFlightId).collect(Collectors.toSet());
+        Set<Long> hotelIds = requests.stream().map(BookingRequestDTO::getHotelId).collect(Collectors.toSet());
+        CompletableFuture<Map<Long, FlightAvailabilityDTO>> flightCheck = submitCancellable(
+                () -> flightFeignClient.checkAvailabilityBatch(flightIds).getBody());
+        CompletableFuture<Map<Long, HotelAvailabilityDTO>> hotelCheck = submitCancellable(
+                () -> hotelFeignClient.checkAvailabilityBatch(hotelIds).getBody());
+        
+        awaitAll(userCheck, flightCheck, hotelCheck);
+        
+        Map<Long, String> userErrors = userCheck.join();
+        Map<Long, FlightAvailabilityDTO> flights = Objects.requireNonNullElse(flightCheck.join(), Map.of());
+        Map<Long, HotelAvailabilityDTO> hotels = Objects.requireNonNullElse(hotelCheck.join(), Map.of());
         
-        // Step 2: Check flight availability via Feign Client
-        log.info("Step 2: Checking flight {} availability via Feign Client", requestDTO.getFlightId());
-        ResponseEntity<FlightAvailabilityDTO> flightResponse = 
-                flightFeignClient.checkAvailability(requestDTO.getFlightId());
-        FlightAvailabilityDTO flightAvailability = flightResponse.getBody();
+        BatchBookingResultDTO[] results = new BatchBookingResultDTO[requests.size()];
+        List<Booking> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequestDTO request = requests.get(i);
+            String userError = userErrors.get(request.getUserId());
+            if (userError != null) {
+                results[i] = new BatchBookingResultDTO(i, false, userError, null);
+                continue;
+            }
+            try {
+                pending.add(buildPendingBooking(request,
+                        flights.get(request.getFlightId()), hotels.get(request.getHotelId())));
+                pendingIndexes.add(i);
+            } catch (RuntimeException e) {
+                results[i] = new BatchBookingResultDTO(i, false, e.getMessage(), null);
+            }
+        }
+        
+        List<Booking> saved = bookingRepository.saveAll(pending);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = pendingIndexes.get(j);
+            results[index] = new BatchBookingResultDTO(index, true, "Booking created. Status: PENDING",
+                    convertToDTO(saved.get(j)));
+        }
+        log.info("✅ Batch done: {} of {} bookings created", saved.size(), requests.size());
         
+        return Arrays.asList(results);
+    }
+
+    private Booking buildPendingBooking(BookingRequestDTO requestDTO,
+                                        FlightAvailabilityDTO flightAvailability,
+                                        HotelAvailabilityDTO hotelAvailability) {
         if (flightAvailability == null || !flightAvailability.isAvailable() || 
                 flightAvailability.getAvailableSeats() < requestDTO.getNumberOfPassengers()) {
             throw new RuntimeException("Flight not available or insufficient seats");
         }
         
-        // Step 3: Check hotel availability via Feign Client
-        log.info("Step 3: Checking hotel {} availability via Feign Client", requestDTO.getHotelId());
-        ResponseEntity<HotelAvailabilityDTO> hotelResponse = 
-                hotelFeignClient.checkAvailability(requestDTO.getHotelId());
-        HotelAvailabilityDTO hotelAvailability = hotelResponse.getBody();
-        
         if (hotelAvailability == null || !hotelAvailability.isAvailable() || 
                 hotelAvailability.getAvailableRooms() < 1) {
             throw new RuntimeException("Hotel not available or no rooms");
         }
         
         // Step 4: Calculate total cost
-        log.info("Step 4: Calculating total cost");
         double flightCost = flightAvailability.getPricePerSeat() * requestDTO.getNumberOfPassengers();
         double hotelCost = hotelAvailability.getPricePerNight() * requestDTO.getNumberOfNights();
         double totalCost = flightCost + hotelCost;
         
-        // Step 5: Save booking as PENDING
-        log.info("Step 5: Saving booking as PENDING");
         Booking booking = new Booking();
         booking.setUserId(requestDTO.getUserId());
         booking.setFlightId(requestDTO.getFlightId());
@@ -79,61 +196,84 @@ public class BookingService {
         booking.setHotelCost(hotelCost);
         booking.setTotalCost(totalCost);
         booking.setStatus("PENDING");
-        
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("✅ Booking created with ID: {} - Status: PENDING - Total: ${}", 
-                savedBooking.getId(), totalCost);
-        log.info("💳 Please proceed to Payment Service with booking ID: {}", savedBooking.getId());
-        
-        return convertToDTO(savedBooking);
+        return booking;
     }
 
-    @Transactional
+    /**
+     * Confirm a PENDING booking. Seats and the room are reserved concurrently as a saga
+     * (see {@link BookingSagaOrchestrator}); no database transaction is held across the
+     * remote calls, and a reservation that went through is released if the other fails.
+     */
     public BookingDTO confirmBooking(Long bookingId) {
         log.info("🎉 Confirming booking {}", bookingId);
         
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        BookingDTO booking = getBookingById(bookingId);
         
         if (!"PENDING".equals(booking.getStatus())) {
             log.warn("Booking {} is already in status: {}", bookingId, booking.getStatus());
-            return convertToDTO(booking);
+            return booking;
         }
         
+        BookingSaga saga = bookingSagaOrchestrator.start(booking);
         try {
-            // Step 8a: Reserve flight seats via Feign Client
-            log.info("Step 8a: Reserving {} flight seats via Feign Client", booking.getNumberOfPassengers());
-            ReservationDTO flightReservation = new ReservationDTO(booking.getNumberOfPassengers());
-            flightFeignClient.reserveSeats(booking.getFlightId(), flightReservation);
-            
-            // Step 8b: Reserve hotel rooms via Feign Client
-            log.info("Step 8b: Reserving 1 hotel room via Feign Client");
-            RoomReservationDTO hotelReservation = new RoomReservationDTO(1);
-            hotelFeignClient.reserveRooms(booking.getHotelId(), hotelReservation);
+            // Step 8: Reserve flight seats and hotel room concurrently via Feign Client
+            log.info("Step 8: Reserving {} flight seats and 1 hotel room via Feign Client", 
+                    booking.getNumberOfPassengers());
+            bookingSagaOrchestrator.reserve(saga, booking);
             
-            // Step 9: Update booking to CONFIRMED
-            log.info("Step 9: Updating booking to CONFIRMED");
-            booking.setStatus("CONFIRMED");
-            booking.setConfirmedAt(LocalDateTime.now());
-            Booking confirmedBooking = bookingRepository.save(booking);
-            
-            // Step 10: Send notification via WebClient
-            log.info("Step 10: Sending confirmation notification via WebClient");
-            sendNotificationViaWebClient(
-                    booking.getUserId(),
-                    String.format("Your booking #%d has been CONFIRMED! Total: $%.2f", 
-                            bookingId, booking.getTotalCost())
-            );
+            // Steps 9-10: Update booking to CONFIRMED and queue the notification in the same transaction
+            log.info("Steps 9-10: Updating booking to CONFIRMED and queueing confirmation notification");
+            BookingDTO confirmedBooking = transactionTemplate.execute(status -> markConfirmed(bookingId));
+            bookingSagaOrchestrator.complete(saga);
             
             log.info("✅ Booking {} successfully CONFIRMED!", bookingId);
-            return convertToDTO(confirmedBooking);
+            return confirmedBooking;
             
         } catch (Exception e) {
             log.error("Error confirming booking: {}", e.getMessage());
-            booking.setStatus("FAILED");
-            bookingRepository.save(booking);
+            if ("RESERVED".equals(saga.getStatus())) {
+                // Both reservations went through but the booking itself could not be confirmed
+                bookingSagaOrchestrator.compensate(saga, booking);
+            }
+            markFailed(bookingId);
             throw new RuntimeException("Failed to confirm booking: " + e.getMessage());
+        } finally {
+            // Seat/room counts changed (or were found to differ), drop the cached pre-checks
+            availabilityCacheClient.evictFlight(booking.getFlightId());
+            availabilityCacheClient.evictHotel(booking.getHotelId());
+        }
+    }
+
+    /**
+     * Mark the booking CONFIRMED and queue its notification in the outbox, atomically;
+     * {@link NotificationOutboxRelay} delivers it after the commit.
+     * Throws {@link IllegalStateException} if the booking is no longer PENDING (e.g. the
+     * expiry sweeper got to it first), so the caller releases the reservations.
+     */
+    @Transactional
+    public BookingDTO markConfirmed(Long bookingId) {
+        if (bookingRepository.confirmPending(bookingId, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Booking " + bookingId + " is no longer PENDING");
         }
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        notificationOutboxRelay.enqueue(
+                booking.getUserId(),
+                String.format("Your booking #%d has been CONFIRMED! Total: $%.2f", 
+                        bookingId, booking.getTotalCost())
+        );
+        return convertToDTO(booking);
+    }
+
+    /**
+     * Mark the booking FAILED if it is still PENDING
+     */
+    @Transactional
+    public BookingDTO markFailed(Long bookingId) {
+        bookingRepository.failPending(bookingId);
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        return convertToDTO(booking);
     }
 
     public BookingDTO getBookingById(Long bookingId) {
@@ -151,44 +291,174 @@ public class BookingService {
     }
 
     /**
-     * Validate user via WebClient (User Service)
+     * One page of a user's bookings in id order, starting after the given cursor;
+     * the page size is clamped to 1..{@value #MAX_PAGE_SIZE}
      */
-    private void validateUserViaWebClient(Long userId) {
-        try {
-            String response = userServiceWebClient
-                    .get()
-                    .uri("/api/users/validate/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            log.info("✅ User {} validated via WebClient", userId);
-        } catch (Exception e) {
-            log.error("❌ User validation failed: {}", e.getMessage());
-            throw new RuntimeException("User not found with id: " + userId);
+    public BookingPageDTO getUserBookingsPage(Long userId, Long after, int requestedSize) {
+        int size = Math.max(1, Math.min(requestedSize, MAX_PAGE_SIZE));
+        log.info("Fetching bookings for user {} after {} (page size {})", userId, after, size);
+        List<Booking> bookings = bookingRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, after != null ? after : 0L, Limit.of(size + 1));
+        boolean hasMore = bookings.size() > size;
+        List<BookingDTO> page = bookings.stream()
+                .limit(size)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new BookingPageDTO(page, nextCursor, hasMore);
+    }
+
+    /**
+     * Write all of a user's bookings as NDJSON, row by row from a JDBC cursor,
+     * without materializing them as a list or as entities
+     */
+    @Transactional(readOnly = true)
+    public void streamUserBookings(Long userId, OutputStream out) {
+        log.info("Streaming bookings for user {}", userId);
+        ndjsonExporter.write(out, USER_BOOKINGS_SQL, (rs, rowNum) -> mapRow(rs), userId);
+    }
+
+    private BookingDTO mapRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp confirmedAt = rs.getTimestamp("confirmed_at");
+        return new BookingDTO(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getLong("flight_id"),
+                rs.getLong("hotel_id"),
+                rs.getDate("travel_date").toLocalDate(),
+                rs.getInt("number_of_nights"),
+                rs.getInt("number_of_passengers"),
+                rs.getDouble("flight_cost"),
+                rs.getDouble("hotel_cost"),
+                rs.getDouble("total_cost"),
+                rs.getString("status"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                confirmedAt != null ? confirmedAt.toLocalDateTime() : null
+        );
+    }
+
+    /**
+     * Validate user via WebClient (User Service) without blocking the caller
+     */
+    private CompletableFuture<Void> validateUserViaWebClient(Long userId) {
+        return validateUser(userId).toFuture();
+    }
+
+    /**
+     * Validate the distinct users of a batch, at most batchUserConcurrency at a time and never
+     * more than the user-service bulkhead admits, so a large batch queues here instead of
+     * having its excess rejected as BulkheadFull
+     * @return error message per user that could not be validated
+     */
+    private CompletableFuture<Map<Long, String>> validateUsers(List<Long> userIds) {
+        int concurrency = Math.max(1, Math.min(batchUserConcurrency,
+                downstreamResilience.maxConcurrentCalls(DownstreamResilience.USER_SERVICE)));
+        return Flux.fromIterable(userIds)
+                .flatMap(userId -> validateUser(userId)
+                        .then(Mono.<Map.Entry<Long, String>>empty())
+                        .onErrorResume(e -> Mono.just(Map.entry(userId, unwrap(e).getMessage()))), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .toFuture();
+    }
+
+    private Mono<Void> validateUser(Long userId) {
+        return requestHedger.hedge(DownstreamResilience.USER_SERVICE, () -> userServiceWebClient
+                        .get()
+                        .uri("/api/users/validate/{id}", userId)
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .transform(call -> downstreamResilience.decorate(DownstreamResilience.USER_SERVICE, call)))
+                .doOnSuccess(response -> log.info("✅ User {} validated via WebClient", userId))
+                .onErrorMap(e -> {
+                    log.error("❌ User validation failed: {}", e.getMessage());
+                    return userValidationError(userId, e);
+                })
+                .then();
+    }
+
+    /**
+     * A 4xx from user-service means the user does not exist; anything else
+     * (timeout, open breaker, 5xx) means it could not be checked
+     */
+    static RuntimeException userValidationError(Long userId, Throwable e) {
+        if (e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError()) {
+            return new RuntimeException("User not found with id: " + userId);
         }
+        return new RuntimeException("User service unavailable: " + e.getMessage());
     }
 
     /**
-     * Send notification via WebClient (Notification Service)
+     * Run a blocking call on the fan-out executor as a future whose cancellation reaches
+     * the call: a queued call never starts and a running one is interrupted, which ends a
+     * wait for a pooled connection (and, on virtual threads, a blocking socket read).
+     * On platform threads a socket read already in progress still runs to its read timeout.
      */
-    private void sendNotificationViaWebClient(Long userId, String message) {
+    private <T> CompletableFuture<T> submitCancellable(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = bookingTaskExecutor.submit(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((ignored, e) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wait for all downstream checks under one deadline. The first failure (or the
+     * deadline) cancels the checks that are still running (the WebClient call is
+     * unsubscribed, Feign calls are interrupted) and is rethrown as is.
+     */
+    private void awaitAll(CompletableFuture<?>... checks) {
+        CompletableFuture<Void> allDone = new CompletableFuture<>();
+        CompletableFuture.allOf(checks).whenComplete((ignored, e) -> allDone.complete(null));
+        for (CompletableFuture<?> check : checks) {
+            check.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    allDone.completeExceptionally(e);
+                }
+            });
+        }
+
         try {
-            NotificationRequestDTO notificationRequest = new NotificationRequestDTO(
-                    userId, message, "EMAIL"
-            );
-            
-            notificationServiceWebClient
-                    .post()
-                    .uri("/api/notifications/send")
-                    .bodyValue(notificationRequest)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .subscribe(
-                            response -> log.info("✅ Notification sent via WebClient"),
-                            error -> log.error("❌ Notification failed: {}", error.getMessage())
-                    );
-        } catch (Exception e) {
-            log.error("Failed to send notification: {}", e.getMessage());
+            allDone.get(fanOutTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelAll(checks);
+            throw new RuntimeException("Downstream checks did not complete within " + fanOutTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            cancelAll(checks);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for downstream checks");
+        } catch (ExecutionException e) {
+            cancelAll(checks);
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    private Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private void cancelAll(CompletableFuture<?>... checks) {
+        for (CompletableFuture<?> check : checks) {
+            check.cancel(true);
         }
     }
 
@@ -0,0 +1,142 @@
+package com.travel.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Replays responses for requests carrying an Idempotency-Key header.
+ * <p>
+ * The first request with a key runs and its response is kept in a bounded,
+ * TTL-evicted in-memory store; repeats get the stored response, and a repeat that
+ * arrives while the first is still running waits for it. Reusing a key for a
+ * different request is rejected with 422. Failures and 5xx responses are not kept,
+ * so a retry after them runs again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              @Value("${booking.idempotency.max-entries:100000}") long maxEntries,
+                              @Value("${booking.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        Entry entry = new Entry(fingerprint(operation, request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            try {
+                return this.<T>replay(key, existing, entry.fingerprint()).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            complete(key, entry, response);
+            return response;
+        } catch (RuntimeException e) {
+            fail(key, entry, e);
+            throw e;
+        }
+    }
+
+    public <T> Mono<ResponseEntity<T>> executeReactive(String key, String operation, Object request,
+                                                       Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return Mono.defer(action);
+        }
+
+        return Mono.defer(() -> {
+            Entry entry = new Entry(fingerprint(operation, request), new CompletableFuture<>());
+            Entry existing = entries.asMap().putIfAbsent(key, entry);
+            if (existing != null) {
+                return Mono.fromFuture(this.<T>replay(key, existing, entry.fingerprint()));
+            }
+            return action.get()
+                    .doOnSuccess(response -> complete(key, entry, response))
+                    .doOnError(e -> fail(key, entry, e))
+                    .doOnCancel(() -> fail(key, entry, new IllegalStateException("Request was cancelled")));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<ResponseEntity<T>> replay(String key, Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+        log.info("🔁 Replaying response for Idempotency-Key {}", key);
+        return existing.response()
+                .thenApply(stored -> (ResponseEntity<T>) ResponseEntity.status(stored.getStatusCode())
+                        .headers(stored.getHeaders())
+                        .header(REPLAYED_HEADER, "true")
+                        .body(stored.getBody()));
+    }
+
+    private void complete(String key, Entry entry, ResponseEntity<?> response) {
+        if (response == null || response.getStatusCode().is5xxServerError()) {
+            entries.asMap().remove(key, entry);
+        }
+        entry.response().complete(response);
+    }
+
+    private void fail(String key, Entry entry, Throwable e) {
+        entries.asMap().remove(key, entry);
+        entry.response().completeExceptionally(e);
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            if (request != null) {
+                digest.update(objectMapper.writeValueAsBytes(request));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request: " + e.getMessage(), e);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
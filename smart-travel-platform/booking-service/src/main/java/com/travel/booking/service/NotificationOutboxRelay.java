@@ -0,0 +1,122 @@
+package com.travel.booking.service;
+
+import com.travel.booking.client.DownstreamResilience;
+import com.travel.booking.dto.BulkNotificationRequestDTO;
+import com.travel.booking.dto.NotificationRequestDTO;
+import com.travel.booking.entity.NotificationOutbox;
+import com.travel.booking.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox to notification-service in bulk requests.
+ * <p>
+ * Delivery is at-least-once: a batch whose response is lost is sent again. A failed
+ * batch is retried with exponential backoff; after max-attempts the rows are marked
+ * DEAD and left in the table for inspection.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final WebClient notificationServiceWebClient;
+    private final DownstreamResilience downstreamResilience;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+    private final Duration requestTimeout;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository notificationOutboxRepository,
+                                   WebClient notificationServiceWebClient,
+                                   DownstreamResilience downstreamResilience,
+                                   @Value("${booking.outbox.batch-size:100}") int batchSize,
+                                   @Value("${booking.outbox.max-attempts:10}") int maxAttempts,
+                                   @Value("${booking.outbox.backoff-initial-ms:1000}") long backoffInitialMs,
+                                   @Value("${booking.outbox.backoff-max-ms:60000}") long backoffMaxMs,
+                                   @Value("${booking.outbox.request-timeout-ms:5000}") long requestTimeoutMs) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationServiceWebClient = notificationServiceWebClient;
+        this.downstreamResilience = downstreamResilience;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    /**
+     * Queue a notification; joins the caller's transaction so it commits (or rolls back) with it
+     */
+    @Transactional
+    public void enqueue(Long userId, String message) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setUserId(userId);
+        entry.setMessage(message);
+        entry.setType("EMAIL");
+        notificationOutboxRepository.save(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        List<NotificationOutbox> batch;
+        do {
+            batch = notificationOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    "PENDING", LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+        } while (send(batch) && batch.size() == batchSize);
+    }
+
+    private boolean send(List<NotificationOutbox> batch) {
+        List<NotificationRequestDTO> notifications = batch.stream()
+                .map(entry -> new NotificationRequestDTO(entry.getUserId(), entry.getMessage(), entry.getType()))
+                .collect(Collectors.toList());
+        try {
+            notificationServiceWebClient
+                    .post()
+                    .uri("/api/notifications/send/bulk")
+                    .bodyValue(new BulkNotificationRequestDTO(notifications))
+                    .retrieve()
+                    .toBodilessEntity()
+                    .transform(call -> downstreamResilience.decorate(DownstreamResilience.NOTIFICATION_SERVICE, call))
+                    .block(requestTimeout);
+            notificationOutboxRepository.deleteAllInBatch(batch);
+            log.info("✅ Relayed {} notifications to notification-service", batch.size());
+            return true;
+        } catch (Exception e) {
+            scheduleRetry(batch, e);
+            return false;
+        }
+    }
+
+    private void scheduleRetry(List<NotificationOutbox> batch, Exception e) {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox entry : batch) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(e.getMessage());
+            if (attempts >= maxAttempts) {
+                entry.setStatus("DEAD");
+            } else {
+                long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 30));
+                entry.setNextAttemptAt(now.plus(Duration.ofMillis(delayMs)));
+            }
+        }
+        notificationOutboxRepository.saveAll(batch);
+        log.error("❌ Notification relay failed for {} notifications (attempt {}): {}",
+                batch.size(), batch.get(0).getAttempts(), e.getMessage());
+    }
+}
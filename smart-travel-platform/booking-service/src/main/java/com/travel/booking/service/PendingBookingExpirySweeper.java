@@ -0,0 +1,77 @@
+package com.travel.booking.service;
+
+import com.travel.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marks PENDING bookings that were never paid as EXPIRED.
+ * <p>
+ * Each tick walks the (status, created_at) index in bounded batches: one query for
+ * a batch of ids, then one short UPDATE transaction for them. A tick stops after
+ * max-batches-per-run so a large backlog is worked off over several ticks.
+ */
+@Component
+@Slf4j
+public class PendingBookingExpirySweeper {
+
+    private final BookingRepository bookingRepository;
+    private final Duration pendingTtl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    public PendingBookingExpirySweeper(BookingRepository bookingRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${booking.expiry.pending-ttl-minutes:30}") long pendingTtlMinutes,
+                                       @Value("${booking.expiry.batch-size:500}") int batchSize,
+                                       @Value("${booking.expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.bookingRepository = bookingRepository;
+        this.pendingTtl = Duration.ofMinutes(pendingTtlMinutes);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.expiredCounter = Counter.builder("booking.expiry.expired")
+                .description("PENDING bookings marked EXPIRED by the sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("booking.expiry.sweep")
+                .description("Duration of one expiry sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.expiry.interval-ms:60000}",
+            initialDelayString = "${booking.expiry.interval-ms:60000}")
+    public void sweep() {
+        sweepTimer.record(this::expireStaleBookings);
+    }
+
+    private void expireStaleBookings() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(pendingTtl);
+        int expired = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = bookingRepository.findStalePendingIds(cutoff, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int updated = bookingRepository.expirePending(ids);
+            expired += updated;
+            expiredCounter.increment(updated);
+            if (ids.size() < batchSize || updated == 0) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("⌛ Expired {} PENDING bookings created before {}", expired, cutoff);
+        }
+    }
+}
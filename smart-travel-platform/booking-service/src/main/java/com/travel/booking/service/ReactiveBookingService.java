@@ -0,0 +1,134 @@
+package com.travel.booking.service;
+
+import com.travel.booking.client.AvailabilityCacheClient;
+import com.travel.booking.client.DownstreamResilience;
+import com.travel.booking.client.FlightReactiveClient;
+import com.travel.booking.client.HotelReactiveClient;
+import com.travel.booking.client.RequestHedger;
+import com.travel.booking.dto.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking booking orchestration used when booking.reactive.enabled=true.
+ * All downstream calls go through WebClient; the JPA steps are reused from
+ * {@link BookingService} and run on the bounded elastic scheduler so that they
+ * never execute on a Netty event-loop thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookingService {
+
+    private final BookingService bookingService;
+    private final FlightReactiveClient flightReactiveClient;
+    private final HotelReactiveClient hotelReactiveClient;
+    private final AvailabilityCacheClient availabilityCacheClient;
+    private final DownstreamResilience downstreamResilience;
+    private final RequestHedger requestHedger;
+    private final BookingSagaOrchestrator bookingSagaOrchestrator;
+    private final BookingConfirmationService bookingConfirmationService;
+    private final WebClient userServiceWebClient;
+
+    @Value("${booking.fan-out.timeout-ms:6000}")
+    private long fanOutTimeoutMs;
+
+    public Mono<BookingDTO> createBooking(BookingRequestDTO requestDTO) {
+        log.info("🎫 Creating booking for user {} (reactive)", requestDTO.getUserId());
+
+        return Mono.zip(
+                        validateUser(requestDTO.getUserId()),
+                        flightReactiveClient.checkAvailability(requestDTO.getFlightId()),
+                        hotelReactiveClient.checkAvailability(requestDTO.getHotelId()))
+                .timeout(Duration.ofMillis(fanOutTimeoutMs))
+                .flatMap(checks -> fromBlocking(() ->
+                        bookingService.savePendingBooking(requestDTO, checks.getT2(), checks.getT3())));
+    }
+
+    public Mono<BookingDTO> confirmBooking(Long bookingId) {
+        log.info("🎉 Confirming booking {} (reactive)", bookingId);
+
+        return getBookingById(bookingId).flatMap(booking -> {
+            if (!"PENDING".equals(booking.getStatus())) {
+                log.warn("Booking {} is already in status: {}", bookingId, booking.getStatus());
+                return Mono.just(booking);
+            }
+
+            return fromBlocking(() -> bookingSagaOrchestrator.start(booking))
+                    .flatMap(saga -> bookingSagaOrchestrator.reserveReactive(saga, booking)
+                            .then(fromBlocking(() -> bookingService.markConfirmed(bookingId)))
+                            .flatMap(confirmed -> fromBlocking(() -> {
+                                bookingSagaOrchestrator.complete(saga);
+                                return confirmed;
+                            }))
+                            .onErrorResume(e -> {
+                                log.error("Error confirming booking: {}", e.getMessage());
+                                Mono<Void> compensation = "RESERVED".equals(saga.getStatus())
+                                        ? bookingSagaOrchestrator.compensateReactive(saga, booking)
+                                        : Mono.empty();
+                                return compensation
+                                        .then(fromBlocking(() -> bookingService.markFailed(bookingId)))
+                                        .then(Mono.error(new RuntimeException("Failed to confirm booking: " + e.getMessage())));
+                            }))
+                    .doOnSubscribe(subscription -> bookingConfirmationService.processing(bookingId))
+                    .doOnSuccess(confirmed -> bookingConfirmationService.settled(new BookingStatusDTO(
+                            bookingId, confirmed.getStatus(), "Booking is " + confirmed.getStatus())))
+                    .doOnError(e -> bookingConfirmationService.settled(new BookingStatusDTO(
+                            bookingId, "FAILED", e.getMessage())))
+                    .doOnCancel(() -> bookingConfirmationService.settled(new BookingStatusDTO(
+                            bookingId, "PENDING", "Confirmation cancelled")))
+                    .doFinally(signal -> {
+                        availabilityCacheClient.evictFlight(booking.getFlightId());
+                        availabilityCacheClient.evictHotel(booking.getHotelId());
+                    });
+        });
+    }
+
+    public Mono<List<BatchBookingResultDTO>> createBookings(List<BookingRequestDTO> requests) {
+        return fromBlocking(() -> bookingService.createBookings(requests));
+    }
+
+    public Mono<BookingStatusDTO> getStatus(Long bookingId) {
+        return fromBlocking(() -> bookingConfirmationService.getStatus(bookingId));
+    }
+
+    public Mono<BookingDTO> getBookingById(Long bookingId) {
+        return fromBlocking(() -> bookingService.getBookingById(bookingId));
+    }
+
+    public Mono<List<BookingDTO>> getUserBookings(Long userId) {
+        return fromBlocking(() -> bookingService.getUserBookings(userId));
+    }
+
+    public Mono<BookingPageDTO> getUserBookingsPage(Long userId, Long after, int size) {
+        return fromBlocking(() -> bookingService.getUserBookingsPage(userId, after, size));
+    }
+
+    private Mono<Boolean> validateUser(Long userId) {
+        return requestHedger.hedge(DownstreamResilience.USER_SERVICE, () -> userServiceWebClient
+                        .get()
+                        .uri("/api/users/validate/{id}", userId)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .transform(call -> downstreamResilience.decorate(DownstreamResilience.USER_SERVICE, call)))
+                .doOnSuccess(response -> log.info("✅ User {} validated via WebClient", userId))
+                .onErrorMap(e -> {
+                    log.error("❌ User validation failed: {}", e.getMessage());
+                    return BookingService.userValidationError(userId, e);
+                })
+                .thenReturn(true);
+    }
+
+    private <T> Mono<T> fromBlocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,78 @@
+package com.travel.booking.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cancelling one caller of a shared call must neither fail the others nor be ignored
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void cancellingTheFirstCallerDoesNotFailTheOthers() throws Exception {
+        Future<String> first = callers.submit(() -> singleFlight.execute(1L, this::slowCall));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> second = callers.submit(() -> singleFlight.execute(1L, () -> "not called"));
+        awaitCoalesced();
+
+        first.cancel(true);
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("shared");
+    }
+
+    @Test
+    void interruptedFollowerStopsWaiting() throws Exception {
+        Future<String> first = callers.submit(() -> singleFlight.execute(1L, this::slowCall));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> "not called"))
+                .isInstanceOf(CancellationException.class);
+        assertThat(Thread.interrupted()).isTrue();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("shared");
+    }
+
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("booking.single-flight.coalesced", "call", "test").count() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String slowCall() {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("shared call interrupted");
+        }
+        return "shared";
+    }
+}
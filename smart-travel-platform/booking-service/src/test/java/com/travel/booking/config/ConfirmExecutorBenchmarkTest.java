@@ -0,0 +1,96 @@
+package com.travel.booking.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confirmation throughput on the platform pool and on virtual threads, each confirmation
+ * blocking for {@link #IO_MS} as the flight, hotel and payment calls do. Prints the wall
+ * time and how many platform threads each mode started.
+ * <p>
+ * The virtual-thread half needs a Java 21 JVM; the build targets Java 17, so set
+ * JAVA21_HOME to run the tests on Java 21 (java21-tests profile).
+ */
+class ConfirmExecutorBenchmarkTest {
+
+    private static final int CONFIRMATIONS = 400;
+    private static final long IO_MS = 50;
+    private static final int POOL_SIZE = 8;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(AsyncConfig.class)
+            .withPropertyValues("booking.confirm.pool-size=" + POOL_SIZE);
+
+    @Test
+    void platformPoolIsBoundedByItsSize() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=false").run(context -> {
+            AsyncTaskExecutor executor = context.getBean("bookingConfirmExecutor", AsyncTaskExecutor.class);
+            assertThat(executor).isInstanceOf(ThreadPoolTaskExecutor.class);
+
+            Result result = run(executor);
+
+            // the pool drains CONFIRMATIONS / POOL_SIZE waves of IO_MS each
+            assertThat(result.elapsedMs()).isGreaterThanOrEqualTo(CONFIRMATIONS / POOL_SIZE * IO_MS);
+            assertThat(result.threadsStarted()).isLessThanOrEqualTo(POOL_SIZE);
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadsOverlapEveryConfirmation() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean("bookingConfirmExecutor", AsyncTaskExecutor.class);
+            assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+
+            Result result = run(executor);
+
+            assertThat(result.elapsedMs()).isLessThan(CONFIRMATIONS / POOL_SIZE * IO_MS / 2);
+            // only carrier threads, however many confirmations are in flight
+            assertThat(result.threadsStarted()).isLessThanOrEqualTo(Runtime.getRuntime().availableProcessors() + 2);
+        });
+    }
+
+    private static Result run(AsyncTaskExecutor executor) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long startedBefore = threads.getTotalStartedThreadCount();
+        CountDownLatch done = new CountDownLatch(CONFIRMATIONS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CONFIRMATIONS; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(IO_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long threadsStarted = threads.getTotalStartedThreadCount() - startedBefore;
+
+        System.out.printf("%s: %d confirmations of %d ms in %d ms (%.0f/s), %d platform threads started%n",
+                executor.getClass().getSimpleName(), CONFIRMATIONS, IO_MS, elapsedMs,
+                CONFIRMATIONS * 1000.0 / elapsedMs, threadsStarted);
+        return new Result(elapsedMs, threadsStarted);
+    }
+
+    private record Result(long elapsedMs, long threadsStarted) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.travel.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.entity.Booking;
+import com.travel.booking.repository.BookingRepository;
+import com.travel.booking.service.BookingService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON stream of a user's bookings writes one booking per line, matching the JSON
+ * list, and runs with its own timeout rather than the MVC async request timeout, on the
+ * servlet controller and on the reactive one
+ */
+@SpringBootTest(properties = "booking.stream.timeout-ms=45000")
+@AutoConfigureMockMvc
+class BookingExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamsEveryBookingOfTheUserAsOneJsonLine() throws Exception {
+        assertStreamsUserBookings(41L);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "booking.reactive.enabled=true")
+    class Reactive {
+
+        @Test
+        void streamsEveryBookingOfTheUserAsOneJsonLine() throws Exception {
+            assertStreamsUserBookings(42L);
+        }
+    }
+
+    private void assertStreamsUserBookings(Long userId) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            bookingRepository.save(booking(userId, i));
+        }
+        bookingRepository.save(booking(userId + 100, 0));
+
+        MvcResult stream = mockMvc.perform(get("/api/bookings/user/{userId}/stream", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(stream.getRequest().getAsyncContext().getTimeout()).isEqualTo(45_000);
+
+        String body = mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<BookingDTO> streamed = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            streamed.add(objectMapper.readValue(line, BookingDTO.class));
+        }
+        assertThat(streamed).containsExactlyElementsOf(bookingService.getUserBookings(userId).stream()
+                .sorted(Comparator.comparing(BookingDTO::getId))
+                .toList());
+    }
+
+    private static Booking booking(Long userId, int i) {
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setFlightId(10L + i);
+        booking.setHotelId(20L + i);
+        booking.setTravelDate(LocalDate.now().plusDays(30));
+        booking.setNumberOfNights(3);
+        booking.setNumberOfPassengers(2);
+        booking.setFlightCost(200.0);
+        booking.setHotelCost(300.0);
+        booking.setTotalCost(500.0);
+        return booking;
+    }
+}
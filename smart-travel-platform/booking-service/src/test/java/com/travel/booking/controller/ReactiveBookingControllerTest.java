@@ -0,0 +1,99 @@
+package com.travel.booking.controller;
+
+import com.travel.booking.dto.BookingStatusDTO;
+import com.travel.booking.entity.Booking;
+import com.travel.booking.repository.BookingRepository;
+import com.travel.booking.service.BookingConfirmationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The reactive controller serves the same batch, status and events endpoints as the
+ * servlet one, with inline confirmations reported to the status and event streams
+ */
+@SpringBootTest(properties = "booking.reactive.enabled=true")
+@AutoConfigureMockMvc
+class ReactiveBookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingConfirmationService bookingConfirmationService;
+
+    @Test
+    void statusReportsAConfirmationInProgressThenTheBookingStatus() throws Exception {
+        Long id = bookingRepository.save(booking()).getId();
+
+        bookingConfirmationService.processing(id);
+        assertStatus(id, "PROCESSING");
+
+        bookingConfirmationService.settled(new BookingStatusDTO(id, "PENDING", "Confirmation cancelled"));
+        assertStatus(id, "PENDING");
+    }
+
+    @Test
+    void eventStreamEndsWhenTheConfirmationSettles() throws Exception {
+        Long id = bookingRepository.save(booking()).getId();
+
+        MvcResult events = mockMvc.perform(get("/api/bookings/{id}/events", id).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        bookingConfirmationService.processing(id);
+        bookingConfirmationService.settled(new BookingStatusDTO(id, "CONFIRMED", "Booking is CONFIRMED"));
+
+        String body = mockMvc.perform(asyncDispatch(events))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).contains("\"status\":\"PENDING\"", "\"status\":\"PROCESSING\"", "\"status\":\"CONFIRMED\"");
+    }
+
+    @Test
+    void batchIsMappedAndValidated() throws Exception {
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookings\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertStatus(Long id, String expected) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bookings/{id}/status", id))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(expected));
+    }
+
+    private static Booking booking() {
+        Booking booking = new Booking();
+        booking.setUserId(51L);
+        booking.setFlightId(10L);
+        booking.setHotelId(20L);
+        booking.setTravelDate(LocalDate.now().plusDays(30));
+        booking.setNumberOfNights(3);
+        booking.setNumberOfPassengers(2);
+        booking.setFlightCost(200.0);
+        booking.setHotelCost(300.0);
+        booking.setTotalCost(500.0);
+        return booking;
+    }
+}
@@ -0,0 +1,73 @@
+package com.travel.booking.service;
+
+import com.travel.booking.dto.BookingDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Status subscriptions must not leave an entry behind once a booking is settled
+ */
+class BookingConfirmationServiceTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final AsyncTaskExecutor executor = mock(AsyncTaskExecutor.class);
+    private final BookingConfirmationService confirmationService =
+            new BookingConfirmationService(bookingService, executor, 60_000);
+
+    @Test
+    void settledBookingIsNotRegistered() {
+        when(bookingService.getBookingById(1L)).thenReturn(booking(1L, "CONFIRMED"));
+
+        confirmationService.subscribe(1L);
+
+        assertThat(subscribers()).isEmpty();
+    }
+
+    @Test
+    void unknownBookingIsNotRegistered() {
+        when(bookingService.getBookingById(2L)).thenThrow(new RuntimeException("Booking not found with id: 2"));
+
+        assertThatThrownBy(() -> confirmationService.subscribe(2L)).hasMessageContaining("not found");
+        assertThat(subscribers()).isEmpty();
+    }
+
+    @Test
+    void entryIsRemovedWhenConfirmationSettles() {
+        when(bookingService.getBookingById(3L)).thenReturn(booking(3L, "PENDING"));
+        when(bookingService.confirmBooking(3L)).thenReturn(booking(3L, "CONFIRMED"));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        confirmationService.subscribe(3L);
+        confirmationService.subscribe(3L);
+        assertThat(subscribers()).containsKey(3L);
+
+        confirmationService.submit(3L);
+
+        assertThat(subscribers()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> subscribers() {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(confirmationService, "subscribers");
+    }
+
+    private static BookingDTO booking(Long id, String status) {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(id);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,76 @@
+package com.travel.booking.service;
+
+import com.travel.booking.client.FlightFeignClient;
+import com.travel.booking.client.FlightReactiveClient;
+import com.travel.booking.client.HotelFeignClient;
+import com.travel.booking.client.HotelReactiveClient;
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.dto.ReservationDTO;
+import com.travel.booking.entity.BookingSaga;
+import com.travel.booking.repository.BookingSagaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolving a FAILED saga releases only its unsettled steps, by booking id
+ */
+class BookingSagaOrchestratorTest {
+
+    private final BookingSagaRepository bookingSagaRepository = mock(BookingSagaRepository.class);
+    private final FlightFeignClient flightFeignClient = mock(FlightFeignClient.class);
+    private final HotelFeignClient hotelFeignClient = mock(HotelFeignClient.class);
+    private final BookingSagaOrchestrator orchestrator = new BookingSagaOrchestrator(bookingSagaRepository,
+            flightFeignClient, hotelFeignClient, mock(FlightReactiveClient.class), mock(HotelReactiveClient.class),
+            new TaskExecutorAdapter(Runnable::run));
+
+    @Test
+    void resolveReleasesUnknownStepByBookingId() {
+        when(bookingSagaRepository.save(any(BookingSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        BookingSaga saga = new BookingSaga();
+        saga.setId(1L);
+        saga.setBookingId(7L);
+        saga.setStatus("FAILED");
+        saga.setFlightStep("UNKNOWN");
+        saga.setHotelStep("REJECTED");
+
+        orchestrator.resolve(saga, booking());
+
+        verify(flightFeignClient).releaseSeats(3L, new ReservationDTO(2, 7L));
+        verify(hotelFeignClient, never()).releaseRooms(any(), any());
+        assertThat(saga.getFlightStep()).isEqualTo("RELEASED");
+        assertThat(saga.getStatus()).isEqualTo("COMPENSATED");
+    }
+
+    @Test
+    void failedReleaseLeavesSagaForTheNextRound() {
+        when(flightFeignClient.releaseSeats(any(), any())).thenThrow(new RuntimeException("connection reset"));
+        BookingSaga saga = new BookingSaga();
+        saga.setId(1L);
+        saga.setBookingId(7L);
+        saga.setStatus("FAILED");
+        saga.setFlightStep("UNKNOWN");
+        saga.setHotelStep("RELEASED");
+
+        orchestrator.resolve(saga, booking());
+
+        verify(hotelFeignClient, never()).releaseRooms(any(), any());
+        assertThat(saga.getFlightStep()).isEqualTo("RELEASE_FAILED");
+        assertThat(saga.getStatus()).isEqualTo("FAILED");
+    }
+
+    private static BookingDTO booking() {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(7L);
+        booking.setFlightId(3L);
+        booking.setHotelId(4L);
+        booking.setNumberOfPassengers(2);
+        return booking;
+    }
+}
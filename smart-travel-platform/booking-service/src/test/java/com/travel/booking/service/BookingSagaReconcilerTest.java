@@ -0,0 +1,117 @@
+package com.travel.booking.service;
+
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.entity.BookingSaga;
+import com.travel.booking.repository.BookingSagaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingSagaReconcilerTest {
+
+    private final BookingSagaOrchestrator bookingSagaOrchestrator = mock(BookingSagaOrchestrator.class);
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingSagaRepository bookingSagaRepository = mock(BookingSagaRepository.class);
+    private final BookingSagaReconciler reconciler = new BookingSagaReconciler(
+            bookingSagaRepository, bookingSagaOrchestrator, bookingService);
+
+    @Test
+    void reservedSagaConfirmsPendingBooking() {
+        BookingSaga saga = saga("RESERVED");
+        booking("PENDING");
+
+        reconciler.reconcile(saga);
+
+        verify(bookingService).markConfirmed(7L);
+        verify(bookingSagaOrchestrator).complete(saga);
+        verify(bookingSagaOrchestrator, never()).compensate(any(), any());
+    }
+
+    @Test
+    void reservedSagaOfExpiredBookingIsCompensated() {
+        BookingSaga saga = saga("RESERVED");
+        BookingDTO booking = booking("EXPIRED");
+
+        reconciler.reconcile(saga);
+
+        verify(bookingSagaOrchestrator).compensate(saga, booking);
+        verify(bookingService, never()).markConfirmed(anyLong());
+        verify(bookingService, never()).markFailed(anyLong());
+    }
+
+    @Test
+    void reservedSagaIsCompensatedWhenBookingExpiresWhileConfirming() {
+        BookingSaga saga = saga("RESERVED");
+        BookingDTO booking = booking("PENDING");
+        when(bookingService.markConfirmed(7L)).thenThrow(new IllegalStateException("Booking 7 is no longer PENDING"));
+
+        reconciler.reconcile(saga);
+
+        verify(bookingSagaOrchestrator).compensate(saga, booking);
+        verify(bookingSagaOrchestrator, never()).complete(any());
+    }
+
+    @Test
+    void compensatingSagaRetriesReleasesAndFailsBooking() {
+        BookingSaga saga = saga("COMPENSATING");
+        BookingDTO booking = booking("PENDING");
+
+        reconciler.reconcile(saga);
+
+        verify(bookingSagaOrchestrator).compensate(saga, booking);
+        verify(bookingService).markFailed(7L);
+    }
+
+    @Test
+    void startedSagaIsAbandonedWithoutReleasing() {
+        BookingSaga saga = saga("STARTED");
+        booking("PENDING");
+
+        reconciler.reconcile(saga);
+
+        verify(bookingSagaOrchestrator).abandon(any(BookingSaga.class), anyString());
+        verify(bookingSagaOrchestrator, never()).compensate(any(), any());
+        verify(bookingService).markFailed(7L);
+    }
+
+    @Test
+    void failedSagaWithUnknownStepIsPickedUpAndResolved() {
+        ReflectionTestUtils.setField(reconciler, "batchSize", 100);
+        BookingSaga saga = saga("FAILED");
+        saga.setFlightStep("UNKNOWN");
+        saga.setHotelStep("REJECTED");
+        BookingDTO booking = booking("FAILED");
+        when(bookingSagaRepository.findUnresolvedFailed(any(), any())).thenReturn(List.of(saga));
+
+        reconciler.reconcile();
+
+        verify(bookingSagaOrchestrator).resolve(saga, booking);
+        verify(bookingSagaOrchestrator, never()).abandon(any(), anyString());
+        verify(bookingService, never()).markFailed(anyLong());
+    }
+
+    private static BookingSaga saga(String status) {
+        BookingSaga saga = new BookingSaga();
+        saga.setId(1L);
+        saga.setBookingId(7L);
+        saga.setStatus(status);
+        return saga;
+    }
+
+    private BookingDTO booking(String status) {
+        BookingDTO booking = new BookingDTO();
+        booking.setId(7L);
+        booking.setStatus(status);
+        when(bookingService.getBookingById(7L)).thenReturn(booking);
+        return booking;
+    }
+}
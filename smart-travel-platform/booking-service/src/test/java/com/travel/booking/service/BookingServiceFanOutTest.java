@@ -0,0 +1,236 @@
+package com.travel.booking.service;
+
+import com.travel.booking.client.AvailabilityCacheClient;
+import com.travel.booking.client.DownstreamResilience;
+import com.travel.booking.client.FlightFeignClient;
+import com.travel.booking.client.HotelFeignClient;
+import com.travel.booking.client.RequestHedger;
+import com.travel.booking.dto.BatchBookingResultDTO;
+import com.travel.booking.dto.BookingDTO;
+import com.travel.booking.dto.BookingRequestDTO;
+import com.travel.booking.dto.FlightAvailabilityDTO;
+import com.travel.booking.dto.HotelAvailabilityDTO;
+import com.travel.booking.entity.Booking;
+import com.travel.booking.repository.BookingRepository;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * createBooking against stub user, flight and hotel services that each take
+ * {@link #LATENCY_MS}: the checks overlap, so the call takes about one round trip
+ * instead of three, and a failing check stops the others. Batches keep their user checks
+ * within the user-service bulkhead.
+ */
+class BookingServiceFanOutTest {
+
+    private static final long LATENCY_MS = 300;
+
+    private final AvailabilityCacheClient availabilityCacheClient = mock(AvailabilityCacheClient.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final DownstreamResilience downstreamResilience = mock(DownstreamResilience.class);
+    private final FlightFeignClient flightFeignClient = mock(FlightFeignClient.class);
+    private final HotelFeignClient hotelFeignClient = mock(HotelFeignClient.class);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final AtomicInteger usersInFlight = new AtomicInteger();
+    private final AtomicInteger maxUsersInFlight = new AtomicInteger();
+
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        executor.setCorePoolSize(8);
+        executor.initialize();
+
+        when(downstreamResilience.decorate(anyString(), any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+
+        bookingService = bookingService(downstreamResilience);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void createBookingTakesTheSlowestCheckNotTheSum() {
+        when(availabilityCacheClient.getFlightAvailability(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(LATENCY_MS);
+            return new FlightAvailabilityDTO(10L, "F1", true, 10, 100.0, null);
+        });
+        when(availabilityCacheClient.getHotelAvailability(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(LATENCY_MS);
+            return new HotelAvailabilityDTO(20L, "H1", true, 5, 80.0, null);
+        });
+
+        bookingService.createBooking(request()); // warm up the WebClient and the pool
+
+        long start = System.nanoTime();
+        BookingDTO booking = bookingService.createBooking(request());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("createBooking with three %d ms checks: %d ms (sequential: >= %d ms)%n",
+                LATENCY_MS, elapsedMs, 3 * LATENCY_MS);
+        assertThat(booking.getStatus()).isEqualTo("PENDING");
+        assertThat(booking.getTotalCost()).isEqualTo(2 * 100.0 + 3 * 80.0);
+        assertThat(elapsedMs).isLessThan(2 * LATENCY_MS);
+    }
+
+    @Test
+    void failingCheckInterruptsTheOthers() throws InterruptedException {
+        CountDownLatch flightInterrupted = new CountDownLatch(1);
+        when(availabilityCacheClient.getFlightAvailability(anyLong())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                flightInterrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        when(availabilityCacheClient.getHotelAvailability(anyLong()))
+                .thenThrow(new RuntimeException("Hotel service down"));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> bookingService.createBooking(request()))
+                .hasMessage("Hotel service down");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // fails without waiting for the stuck flight check
+        assertThat(elapsedMs).isLessThan(5_000);
+        assertThat(flightInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void deadlineCancelsChecksThatAreStillRunning() throws InterruptedException {
+        ReflectionTestUtils.setField(bookingService, "fanOutTimeoutMs", 100L);
+        CountDownLatch interrupted = new CountDownLatch(2);
+        when(availabilityCacheClient.getFlightAvailability(anyLong())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        when(availabilityCacheClient.getHotelAvailability(anyLong())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+
+        assertThatThrownBy(() -> bookingService.createBooking(request()))
+                .hasMessageContaining("did not complete within 100 ms");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void batchKeepsUserChecksWithinTheBulkhead() {
+        int users = 60; // more than the 50 calls the user-service bulkhead admits
+        DownstreamResilience realResilience = new DownstreamResilience(
+                CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(50)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                TimeLimiterRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+        BookingService batchService = bookingService(realResilience);
+        when(flightFeignClient.checkAvailabilityBatch(anyCollection())).thenReturn(ResponseEntity.ok(
+                Map.of(10L, new FlightAvailabilityDTO(10L, "F1", true, 500, 100.0, null))));
+        when(hotelFeignClient.checkAvailabilityBatch(anyCollection())).thenReturn(ResponseEntity.ok(
+                Map.of(20L, new HotelAvailabilityDTO(20L, "H1", true, 500, 80.0, null))));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingRequestDTO> requests = LongStream.rangeClosed(1, users)
+                .mapToObj(userId -> new BookingRequestDTO(userId, 10L, 20L, LocalDate.now().plusDays(30), 1, 1))
+                .toList();
+        List<BatchBookingResultDTO> results = batchService.createBookings(requests);
+
+        System.out.printf("createBookings with %d users: at most %d user checks in flight%n",
+                users, maxUsersInFlight.get());
+        assertThat(results).allSatisfy(result -> assertThat(result.isSuccess()).as(result.getMessage()).isTrue());
+        assertThat(maxUsersInFlight.get()).isLessThanOrEqualTo(20);
+    }
+
+    private BookingService bookingService(DownstreamResilience resilience) {
+        // user-service stub: answers after LATENCY_MS without holding a thread
+        WebClient userServiceWebClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.defer(() -> {
+                    maxUsersInFlight.accumulateAndGet(usersInFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(LATENCY_MS))
+                            .doOnNext(tick -> usersInFlight.decrementAndGet())
+                            .map(tick -> ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body("{\"success\":true}")
+                                    .build());
+                }))
+                .build();
+
+        BookingService service = new BookingService(
+                bookingRepository,
+                flightFeignClient,
+                hotelFeignClient,
+                availabilityCacheClient,
+                resilience,
+                new RequestHedger(new SimpleMeterRegistry()),
+                userServiceWebClient,
+                executor,
+                mock(BookingSagaOrchestrator.class),
+                mock(NotificationOutboxRelay.class),
+                mock(TransactionTemplate.class),
+                mock(NdjsonExporter.class));
+        ReflectionTestUtils.setField(service, "fanOutTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "batchUserConcurrency", 20);
+        return service;
+    }
+
+    private static BookingRequestDTO request() {
+        return new BookingRequestDTO(1L, 10L, 20L, LocalDate.now().plusDays(30), 3, 2);
+    }
+}
@@ -1,21 +1,29 @@
 package com.travel.flight.controller;
 
 import com.travel.flight.dto.*;
+import com.travel.flight.service.FlightConnectionService;
 import com.travel.flight.service.FlightService;
+import com.travel.flight.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Validated
 @RequestMapping("/api/flights")
 @RequiredArgsConstructor
 @Slf4j
@@ -23,6 +31,8 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final FlightConnectionService flightConnectionService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create new flight", description = "Creates a new flight in the system")
@@ -63,6 +73,17 @@ public class FlightController {
         return ResponseEntity.ok(availability);
     }
 
+    @PostMapping("/check-availability/batch")
+    @Operation(summary = "Check availability of many flights", 
+            description = "Resolves all ids with one query and returns availability keyed by flight id; unknown ids are omitted")
+    public ResponseEntity<Map<Long, FlightAvailabilityDTO>> checkAvailabilityBatch(
+            @RequestBody @Size(max = 500, message = "At most 500 flights per request") List<Long> ids) {
+        log.info("POST /api/flights/check-availability/batch - Checking availability for {} flights", ids.size());
+        
+        Map<Long, FlightAvailabilityDTO> availability = flightService.checkAvailability(ids);
+        return ResponseEntity.ok(availability);
+    }
+
     @PutMapping("/{id}/reserve")
     @Operation(summary = "Reserve seats", description = "Reserves specified number of seats on a flight")
     public ResponseEntity<FlightResponseDTO> reserveSeats(
@@ -80,6 +101,23 @@ public class FlightController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/release")
+    @Operation(summary = "Release seats", description = "Gives back previously reserved seats (booking compensation)")
+    public ResponseEntity<FlightResponseDTO> releaseSeats(
+            @PathVariable Long id,
+            @Valid @RequestBody ReservationDTO reservationDTO) {
+        log.info("PUT /api/flights/{}/release - Releasing {} seats", id, reservationDTO.getNumberOfSeats());
+        
+        FlightDTO flightDTO = flightService.releaseSeats(id, reservationDTO);
+        FlightResponseDTO response = new FlightResponseDTO(
+                true,
+                "Seats released successfully",
+                flightDTO
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search flights", description = "Search flights by origin, destination and optional date")
     public ResponseEntity<List<FlightDTO>> searchFlights(
@@ -92,6 +130,56 @@ public class FlightController {
         return ResponseEntity.ok(flights);
     }
 
+    @GetMapping(value = "/search", params = "size")
+    @Operation(summary = "Search flights page", 
+            description = "Keyset pagination by departure or price; pass nextCursor from the previous page as 'after' " +
+                    "and optionally a comma-separated list of fields to return (the id is always included)")
+    public ResponseEntity<FlightPageDTO> searchFlightsPage(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "departure") String sort,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam int size) {
+        log.info("GET /api/flights/search?origin={}&destination={}&date={}&sort={}&after={}&size={}", 
+                origin, destination, date, sort, after, size);
+        
+        return ResponseEntity.ok(flightService.getFlightsPage(origin, destination, date, sort, after, fields, size));
+    }
+
+    @GetMapping("/connections")
+    @Operation(summary = "Search connecting flights", 
+            description = "Direct, 1- and 2-stop itineraries departing on a date, ranked by total price or duration")
+    public ResponseEntity<List<ItineraryDTO>> findConnections(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "2") int maxStops,
+            @RequestParam(defaultValue = "PRICE") String sortBy,
+            @RequestParam(defaultValue = "1") int passengers,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/flights/connections - Searching itineraries from {} to {} on {}", origin, destination, date);
+        
+        List<ItineraryDTO> itineraries = flightConnectionService.findConnections(
+                origin, destination, date, maxStops, sortBy, passengers, limit);
+        return ResponseEntity.ok(itineraries);
+    }
+
+    @GetMapping("/fare-calendar")
+    @Operation(summary = "Fare calendar", 
+            description = "Cheapest fare and whether seats are left for each day of a date range on a route")
+    public ResponseEntity<List<FareCalendarDayDTO>> getFareCalendar(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("GET /api/flights/fare-calendar - Fares from {} to {} between {} and {}", origin, destination, from, to);
+        
+        List<FareCalendarDayDTO> calendar = flightService.getFareCalendar(origin, destination, from, to);
+        return ResponseEntity.ok(calendar);
+    }
+
     @GetMapping
     @Operation(summary = "Get all flights", description = "Retrieves all flights in the system")
     public ResponseEntity<List<FlightDTO>> getAllFlights() {
@@ -100,4 +188,29 @@ public class FlightController {
         List<FlightDTO> flights = flightService.getAllFlights();
         return ResponseEntity.ok(flights);
     }
+
+    @GetMapping(params = "size")
+    @Operation(summary = "Get flights page", 
+            description = "Keyset pagination by departure or price; pass nextCursor from the previous page as 'after' " +
+                    "and optionally a comma-separated list of fields to return (the id is always included)")
+    public ResponseEntity<FlightPageDTO> getFlightsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "departure") String sort,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam int size) {
+        log.info("GET /api/flights?sort={}&after={}&size={}", sort, after, size);
+        
+        return ResponseEntity.ok(flightService.getFlightsPage(null, null, null, sort, after, fields, size));
+    }
+
+    @GetMapping(produces = "application/x-ndjson")
+    @Operation(summary = "Export all flights", 
+            description = "All flights as NDJSON, one per line, streamed from the database (Accept: application/x-ndjson)")
+    public ResponseEntity<ResponseBodyEmitter> streamAllFlights() {
+        log.info("GET /api/flights - Streaming all flights as NDJSON");
+        
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(flightService::streamAllFlights));
+    }
 }
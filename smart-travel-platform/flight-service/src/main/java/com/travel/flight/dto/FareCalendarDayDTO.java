@@ -0,0 +1,18 @@
+package com.travel.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDayDTO {
+
+    private LocalDate date;
+    private Double minPrice; // cheapest fare with seats left, else cheapest overall; null without flights
+    private Boolean seatsAvailable;
+    private Integer flights;
+}
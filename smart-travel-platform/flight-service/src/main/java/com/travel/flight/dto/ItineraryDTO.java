@@ -0,0 +1,21 @@
+package com.travel.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryDTO {
+
+    private List<FlightDTO> legs;
+    private Integer stops;
+    private Double totalPrice; // for all passengers
+    private LocalDateTime departure;
+    private LocalDateTime arrival;
+    private Long durationMinutes;
+}
@@ -14,4 +14,12 @@ public class ReservationDTO {
     @NotNull(message = "Number of seats is required")
     @Min(value = 1, message = "Must reserve at least 1 seat")
     private Integer numberOfSeats;
+
+    // Optional: when set, a repeated reserve takes no more seats and a release gives back
+    // only seats this booking actually holds
+    private Long bookingId;
+
+    public ReservationDTO(Integer numberOfSeats) {
+        this.numberOfSeats = numberOfSeats;
+    }
 }
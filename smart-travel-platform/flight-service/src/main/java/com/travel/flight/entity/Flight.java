@@ -9,7 +9,12 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "flights")
+@Table(name = "flights",
+        indexes = {
+                @Index(name = "idx_flights_route_date", columnList = "origin, destination, departure_date"),
+                @Index(name = "idx_flights_departure", columnList = "departure_date, departure_time, id"),
+                @Index(name = "idx_flights_price", columnList = "price_per_seat, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
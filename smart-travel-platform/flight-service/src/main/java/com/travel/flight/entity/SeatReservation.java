@@ -0,0 +1,40 @@
+package com.travel.flight.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seats held for one booking. A RELEASED row with no seats is left when a booking that
+ * never held seats is released, so a reserve for it that arrives late is refused.
+ */
+@Entity
+@Table(name = "seat_reservations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReservation {
+
+    @Id
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false)
+    private Integer seats;
+
+    @Column(nullable = false)
+    private String status; // RESERVED, RELEASED
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
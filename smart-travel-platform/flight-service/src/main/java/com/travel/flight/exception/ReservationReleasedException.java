@@ -0,0 +1,8 @@
+package com.travel.flight.exception;
+
+public class ReservationReleasedException extends RuntimeException {
+
+    public ReservationReleasedException(Long bookingId) {
+        super(String.format("Seats for booking %d were already released", bookingId));
+    }
+}
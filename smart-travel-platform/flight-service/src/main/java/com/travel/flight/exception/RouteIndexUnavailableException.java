@@ -0,0 +1,8 @@
+package com.travel.flight.exception;
+
+public class RouteIndexUnavailableException extends RuntimeException {
+
+    public RouteIndexUnavailableException() {
+        super("Route index is not loaded yet or is disabled (flight.route-index.enabled)");
+    }
+}
@@ -0,0 +1,8 @@
+package com.travel.flight.exception;
+
+public class SeatInventoryUnavailableException extends RuntimeException {
+
+    public SeatInventoryUnavailableException() {
+        super("Seat inventory is still loading, retry shortly");
+    }
+}
@@ -0,0 +1,9 @@
+package com.travel.flight.exception;
+
+public class SeatReleaseException extends RuntimeException {
+
+    public SeatReleaseException(Long flightId, Integer released, Integer available, Integer total) {
+        super(String.format("Cannot release %d seats on flight %d. Available: %d, Total: %d", 
+                released, flightId, available, total));
+    }
+}
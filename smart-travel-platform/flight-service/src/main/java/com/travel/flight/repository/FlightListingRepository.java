@@ -0,0 +1,20 @@
+package com.travel.flight.repository;
+
+import com.travel.flight.dto.FlightPageDTO;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Keyset-paginated flight listing, mixed into {@link FlightRepository}
+ */
+public interface FlightListingRepository {
+
+    /**
+     * One page of flights ordered by the given sort key and then id, starting after the cursor
+     * of the previous page. Origin, destination and date narrow the listing when not null.
+     * With fields, only those columns (and the id) are read and set on the returned flights.
+     */
+    FlightPageDTO findPage(String origin, String destination, LocalDate date,
+                           String sort, String after, Set<String> fields, int size);
+}
@@ -0,0 +1,57 @@
+package com.travel.flight.repository;
+
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.FlightPageDTO;
+import com.travel.flight.dto.FlightProjectionDTO;
+import com.travel.flight.entity.Flight;
+import com.travel.flight.repository.KeysetQuery.SortColumn;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Criteria query behind {@link FlightListingRepository#findPage}; the keyset paging,
+ * cursors and field projection are done by {@link KeysetQuery}
+ */
+public class FlightListingRepositoryImpl implements FlightListingRepository {
+
+    /**
+     * Sort name to its columns; id (ascending) breaks ties
+     */
+    private static final Map<String, List<SortColumn>> SORTS = Map.of(
+            "departure", List.of(SortColumn.asc("departureDate"), SortColumn.asc("departureTime")),
+            "price", List.of(SortColumn.asc("pricePerSeat")));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public FlightPageDTO findPage(String origin, String destination, LocalDate date,
+                                  String sort, String after, Set<String> fields, int size) {
+        Supplier<FlightDTO> newDto = fields == null || fields.isEmpty() ? FlightDTO::new : FlightProjectionDTO::new;
+        KeysetQuery.Page<FlightDTO> page = new KeysetQuery<>(entityManager, Flight.class, SORTS)
+                .fetch(sort, after, fields, size, (cb, flight) -> {
+                    List<Predicate> where = new ArrayList<>();
+                    if (origin != null) {
+                        where.add(cb.equal(flight.get("origin"), origin));
+                    }
+                    if (destination != null) {
+                        where.add(cb.equal(flight.get("destination"), destination));
+                    }
+                    if (date != null) {
+                        where.add(cb.equal(flight.get("departureDate"), date));
+                    }
+                    return where;
+                }, newDto);
+        return new FlightPageDTO(page.items(), page.nextCursor(), page.hasMore());
+    }
+}
@@ -2,6 +2,9 @@ package com.travel.flight.repository;
 
 import com.travel.flight.entity.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -9,7 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightListingRepository {
     
     Optional<Flight> findByFlightNumber(String flightNumber);
     
@@ -17,4 +20,22 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
             String origin, String destination, LocalDate departureDate);
     
     List<Flight> findByOriginAndDestination(String origin, String destination);
+
+    /**
+     * Atomically take seats if enough are left
+     * @return 1 if the seats were reserved, 0 if the flight is missing or has too few seats
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats - :seats " +
+            "WHERE f.id = :id AND f.availableSeats >= :seats")
+    int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    /**
+     * Atomically give seats back, never going above the flight's capacity
+     * @return 1 if the seats were released, 0 if the flight is missing or the release would exceed capacity
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats + :seats " +
+            "WHERE f.id = :id AND f.availableSeats + :seats <= f.totalSeats")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
 }
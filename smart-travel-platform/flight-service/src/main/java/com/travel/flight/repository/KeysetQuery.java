@@ -0,0 +1,218 @@
+package com.travel.flight.repository;
+
+import com.travel.flight.exception.InvalidSearchException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination with an optional field projection over one entity, for the listing
+ * repository implementations.
+ * <p>
+ * Pages are read with a keyset condition on (sort columns, id) rather than an offset, so a
+ * deep page costs the same as the first and rows added meanwhile are neither repeated nor
+ * skipped. The cursor is the last row's key, base64-encoded together with the sort name.
+ * A field projection is a tuple query over just those columns copied into otherwise empty
+ * DTOs, so no entities are loaded into the persistence context.
+ * <p>
+ * Flight and hotel each keep their own copy of this class, since the services share no
+ * code module; a change to one copy belongs in the other.
+ */
+class KeysetQuery<E> {
+
+    private static final SortColumn ID = SortColumn.asc("id");
+    private static final String SEPARATOR = "|";
+
+    private final EntityManager entityManager;
+    private final Class<E> entityType;
+    private final Map<String, List<SortColumn>> sorts;
+
+    KeysetQuery(EntityManager entityManager, Class<E> entityType, Map<String, List<SortColumn>> sorts) {
+        this.entityManager = entityManager;
+        this.entityType = entityType;
+        this.sorts = sorts;
+    }
+
+    /**
+     * One page in the given sort after the cursor, narrowed by the filters. The selected
+     * fields (and the id), or every column without fields, are copied into DTOs from newDto.
+     */
+    <D> Page<D> fetch(String sort, String after, Set<String> fields, int size,
+                      BiFunction<CriteriaBuilder, Root<E>, List<Predicate>> filters, Supplier<D> newDto) {
+        String sortName = sort.toLowerCase(Locale.ROOT);
+        if (!sorts.containsKey(sortName)) {
+            throw new InvalidSearchException("sort must be one of " + sorts.keySet());
+        }
+        List<SortColumn> keyColumns = new ArrayList<>(sorts.get(sortName));
+        keyColumns.add(ID);
+        Set<String> projected = projection(fields);
+        Set<String> selected = new LinkedHashSet<>(projected);
+        keyColumns.forEach(column -> selected.add(column.name()));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+
+        List<Predicate> where = new ArrayList<>(filters.apply(cb, root));
+        if (after != null) {
+            where.add(keysetAfter(cb, root, keyColumns, decodeCursor(sortName, after, root, keyColumns)));
+        }
+        query.multiselect(selected.stream()
+                        .<Selection<?>>map(column -> root.get(column).alias(column))
+                        .toList())
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(keyColumns.stream().map(column -> order(cb, root, column)).toList());
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasMore = rows.size() > size;
+        List<Tuple> page = hasMore ? rows.subList(0, size) : rows;
+
+        List<D> items = new ArrayList<>(page.size());
+        for (Tuple row : page) {
+            D dto = newDto.get();
+            BeanWrapper wrapper = new BeanWrapperImpl(dto);
+            projected.forEach(column -> wrapper.setPropertyValue(column, row.get(column)));
+            items.add(dto);
+        }
+        String nextCursor = hasMore ? encodeCursor(sortName, page.get(page.size() - 1), keyColumns) : null;
+        return new Page<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Requested columns plus the id, or every column without a projection
+     */
+    private Set<String> projection(Set<String> fields) {
+        Set<String> columns = entityManager.getMetamodel().entity(entityType).getSingularAttributes().stream()
+                .map(Attribute::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (fields == null || fields.isEmpty()) {
+            return columns;
+        }
+        Set<String> projected = new LinkedHashSet<>();
+        projected.add(ID.name());
+        for (String field : fields) {
+            if (!columns.contains(field)) {
+                throw new InvalidSearchException("Unknown field '" + field + "', expected any of " + columns);
+            }
+            projected.add(field);
+        }
+        return projected;
+    }
+
+    private Order order(CriteriaBuilder cb, Root<E> root, SortColumn column) {
+        return column.descending() ? cb.desc(root.get(column.name())) : cb.asc(root.get(column.name()));
+    }
+
+    /**
+     * (c1, c2, ..., id) after (k1, k2, ..., kid) in sort order, expanded for the criteria API:
+     * c1 beyond k1 OR (c1 = k1 AND (c2 beyond k2 OR (c2 = k2 AND ... id > kid)))
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate keysetAfter(CriteriaBuilder cb, Root<E> root,
+                                  List<SortColumn> keyColumns, List<Comparable> key) {
+        int last = keyColumns.size() - 1;
+        Predicate predicate = beyond(cb, root, keyColumns.get(last), key.get(last));
+        for (int i = last - 1; i >= 0; i--) {
+            Path<Comparable> column = root.get(keyColumns.get(i).name());
+            predicate = cb.or(
+                    beyond(cb, root, keyColumns.get(i), key.get(i)),
+                    cb.and(cb.equal(column, key.get(i)), predicate));
+        }
+        return predicate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate beyond(CriteriaBuilder cb, Root<E> root, SortColumn sortColumn, Comparable value) {
+        Path<Comparable> column = root.get(sortColumn.name());
+        return sortColumn.descending() ? cb.lessThan(column, value) : cb.greaterThan(column, value);
+    }
+
+    private static String encodeCursor(String sortName, Tuple row, List<SortColumn> keyColumns) {
+        StringJoiner cursor = new StringJoiner(SEPARATOR).add(sortName);
+        keyColumns.forEach(column -> cursor.add(String.valueOf(row.get(column.name()))));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<Comparable> decodeCursor(String sortName, String cursor,
+                                          Root<E> root, List<SortColumn> keyColumns) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchException("Invalid cursor");
+        }
+        if (parts.length != keyColumns.size() + 1 || !parts[0].equals(sortName)) {
+            throw new InvalidSearchException("Cursor does not belong to sort '" + sortName + "'");
+        }
+        List<Comparable> key = new ArrayList<>(keyColumns.size());
+        try {
+            for (int i = 0; i < keyColumns.size(); i++) {
+                key.add(parse(root.get(keyColumns.get(i).name()).getJavaType(), parts[i + 1]));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidSearchException("Invalid cursor");
+        }
+        return key;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parse(Class<?> type, String value) {
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.parse(value);
+        }
+        if (type == Double.class) {
+            return Double.valueOf(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        return Long.valueOf(value);
+    }
+
+    record SortColumn(String name, boolean descending) {
+
+        static SortColumn asc(String name) {
+            return new SortColumn(name, false);
+        }
+
+        static SortColumn desc(String name) {
+            return new SortColumn(name, true);
+        }
+    }
+
+    record Page<D>(List<D> items, String nextCursor, boolean hasMore) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.travel.flight.repository;
+
+import com.travel.flight.entity.SeatReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long> {
+
+    /**
+     * Mark the booking's seats released if it still holds them
+     * @return 1 if the seats are now to be given back, 0 if the booking holds none
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SeatReservation r SET r.status = 'RELEASED' " +
+            "WHERE r.bookingId = :bookingId AND r.status = 'RESERVED'")
+    int markReleased(@Param("bookingId") Long bookingId);
+}
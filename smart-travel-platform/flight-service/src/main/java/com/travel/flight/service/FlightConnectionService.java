@@ -0,0 +1,193 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.ItineraryDTO;
+import com.travel.flight.exception.InvalidSearchException;
+import com.travel.flight.exception.RouteIndexUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Direct and connecting itineraries (up to two stops) over the route graph held by
+ * {@link FlightRouteIndex}.
+ * <p>
+ * Best-first search: partial itineraries are expanded cheapest first, and since adding a
+ * leg never lowers the price or the elapsed time, complete itineraries come out already
+ * ranked and the search stops after the requested number. Branches are pruned when a
+ * connection is shorter than the minimum or longer than the maximum connection time, when
+ * the flight has too few seats, when an airport would be visited twice, and when the
+ * destination can no longer be reached within the allowed stops. The number of expansions
+ * per query is capped, so the worst case stays bounded on dense schedules.
+ * Times are compared as local date-times, as flights carry no time zone.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightConnectionService {
+
+    private static final int MAX_STOPS = 2;
+
+    private final FlightRouteIndex flightRouteIndex;
+
+    @Value("${flight.connections.min-connection-minutes:45}")
+    private long minConnectionMinutes;
+
+    @Value("${flight.connections.max-connection-minutes:720}")
+    private long maxConnectionMinutes;
+
+    @Value("${flight.connections.max-expansions:20000}")
+    private int maxExpansions;
+
+    @Value("${flight.connections.max-results:50}")
+    private int maxResults;
+
+    public List<ItineraryDTO> findConnections(String origin, String destination, LocalDate date,
+                                              int maxStops, String sortBy, int passengers, int limit) {
+        log.info("Searching itineraries from {} to {} on {} with up to {} stops by {}",
+                origin, destination, date, maxStops, sortBy);
+
+        if (origin.equals(destination)) {
+            throw new InvalidSearchException("Origin and destination must differ");
+        }
+        if (maxStops < 0 || maxStops > MAX_STOPS) {
+            throw new InvalidSearchException("maxStops must be between 0 and " + MAX_STOPS);
+        }
+        if (passengers < 1) {
+            throw new InvalidSearchException("passengers must be at least 1");
+        }
+        Comparator<Path> ranking = ranking(sortBy);
+        if (!flightRouteIndex.isReady()) {
+            throw new RouteIndexUnavailableException();
+        }
+        int wanted = Math.max(1, Math.min(limit, maxResults));
+
+        PriorityQueue<Path> frontier = new PriorityQueue<>(ranking);
+        for (FlightDTO flight : flightRouteIndex.departures(origin, date.atStartOfDay(), date.atTime(LocalTime.MAX))) {
+            if (canTake(flight, null, origin, destination, maxStops, passengers)) {
+                frontier.add(new Path(flight, null));
+            }
+        }
+
+        List<ItineraryDTO> itineraries = new ArrayList<>();
+        int expansions = 0;
+        while (!frontier.isEmpty() && itineraries.size() < wanted && expansions < maxExpansions) {
+            Path path = frontier.poll();
+            expansions++;
+
+            if (path.leg.getDestination().equals(destination)) {
+                itineraries.add(toItinerary(path, passengers));
+                continue;
+            }
+
+            LocalDateTime earliest = path.arrival.plusMinutes(minConnectionMinutes);
+            LocalDateTime latest = path.arrival.plusMinutes(maxConnectionMinutes);
+            for (FlightDTO flight : flightRouteIndex.departures(path.leg.getDestination(), earliest, latest)) {
+                if (canTake(flight, path, origin, destination, maxStops, passengers)) {
+                    frontier.add(new Path(flight, path));
+                }
+            }
+        }
+
+        log.debug("Itinerary search expanded {} paths, found {}", expansions, itineraries.size());
+        return itineraries;
+    }
+
+    /**
+     * Whether a flight may extend the path: enough seats, no airport visited twice, and
+     * the destination still reachable with the stops that remain
+     */
+    private boolean canTake(FlightDTO flight, Path path, String origin, String destination,
+                            int maxStops, int passengers) {
+        if (flight.getAvailableSeats() < passengers) {
+            return false;
+        }
+        String next = flight.getDestination();
+        if (next.equals(destination)) {
+            return true;
+        }
+        if (next.equals(origin) || (path != null && path.visits(next))) {
+            return false;
+        }
+        int legsLeft = maxStops + 1 - (path == null ? 1 : path.legs + 1);
+        if (legsLeft <= 0) {
+            return false;
+        }
+        // With one leg left the stop must have a direct route to the destination
+        return legsLeft > 1 || flightRouteIndex.hasRoute(next, destination);
+    }
+
+    private static Comparator<Path> ranking(String sortBy) {
+        Comparator<Path> byPrice = Comparator.comparingDouble(path -> path.price);
+        Comparator<Path> byDuration = Comparator.comparing(Path::duration);
+        return switch (sortBy.toUpperCase(Locale.ROOT)) {
+            case "PRICE" -> byPrice.thenComparing(byDuration);
+            case "DURATION" -> byDuration.thenComparing(byPrice);
+            default -> throw new InvalidSearchException("sortBy must be PRICE or DURATION");
+        };
+    }
+
+    private static ItineraryDTO toItinerary(Path path, int passengers) {
+        LinkedList<FlightDTO> legs = new LinkedList<>();
+        for (Path step = path; step != null; step = step.previous) {
+            legs.addFirst(FlightRouteIndex.copy(step.leg));
+        }
+        return new ItineraryDTO(
+                legs,
+                legs.size() - 1,
+                path.price * passengers,
+                path.departure,
+                path.arrival,
+                path.duration().toMinutes()
+        );
+    }
+
+    /**
+     * A partial itinerary as a linked chain of legs, so extending it copies nothing
+     */
+    private static final class Path {
+
+        private final FlightDTO leg;
+        private final Path previous;
+        private final int legs;
+        private final double price;
+        private final LocalDateTime departure;
+        private final LocalDateTime arrival;
+
+        private Path(FlightDTO leg, Path previous) {
+            this.leg = leg;
+            this.previous = previous;
+            this.legs = previous == null ? 1 : previous.legs + 1;
+            this.price = leg.getPricePerSeat() + (previous == null ? 0 : previous.price);
+            this.departure = previous == null
+                    ? leg.getDepartureDate().atTime(leg.getDepartureTime())
+                    : previous.departure;
+            this.arrival = leg.getArrivalDate().atTime(leg.getArrivalTime());
+        }
+
+        private Duration duration() {
+            return Duration.between(departure, arrival);
+        }
+
+        private boolean visits(String airport) {
+            for (Path step = this; step != null; step = step.previous) {
+                if (step.leg.getOrigin().equals(airport)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
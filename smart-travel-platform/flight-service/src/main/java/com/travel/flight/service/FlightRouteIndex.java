@@ -0,0 +1,288 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FareCalendarDayDTO;
+import com.travel.flight.dto.FlightDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of flights by route (flight.route-index.enabled).
+ * <p>
+ * Flights are keyed by (origin, destination), then by departure date, and each day's
+ * bucket is kept sorted by departure time, price and id, so a route search is a map
+ * lookup plus a range slice instead of a query. The index is loaded from the flights
+ * table once the application is ready and then kept current by {@link FlightService}
+ * as flights are created and seats change; until loaded, callers fall back to the table.
+ * Departure time and price never change after creation, so an entry's position is stable.
+ * <p>
+ * The same structure, with the destinations served from each airport, is the route
+ * graph walked by {@link FlightConnectionService}. Alongside each day's bucket the index
+ * keeps that day's fares ordered by price, split into all flights and flights with seats
+ * left, so the cheapest bookable fare per day is read without scanning the bucket.
+ */
+@Component
+@Slf4j
+public class FlightRouteIndex {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final FareKey LOWEST_FARE = new FareKey(Double.NEGATIVE_INFINITY, Long.MIN_VALUE);
+
+    private static final Comparator<SortKey> SORT_ORDER = Comparator
+            .comparing(SortKey::departureTime)
+            .thenComparingDouble(SortKey::price)
+            .thenComparingLong(SortKey::id);
+
+    private final Map<Route, ConcurrentSkipListMap<LocalDate, ConcurrentSkipListMap<SortKey, FlightDTO>>> routes =
+            new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> destinationsByOrigin = new ConcurrentHashMap<>();
+    private final Map<Route, ConcurrentSkipListMap<LocalDate, DailyFares>> fares = new ConcurrentHashMap<>();
+    private final ReentrantLock[] seatLocks = Stream.generate(ReentrantLock::new)
+            .limit(LOCK_STRIPES)
+            .toArray(ReentrantLock[]::new);
+    private final AtomicLong seatReads = new AtomicLong();
+    private final Map<Long, Long> appliedSeatReads = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @Value("${flight.route-index.enabled:true}")
+    private boolean enabled;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Fill the index from the flights table; entries written concurrently by {@link #put}
+     * are kept, as they are at least as fresh as the loaded rows
+     */
+    public void load(Iterable<FlightDTO> flights) {
+        if (!enabled) {
+            return;
+        }
+        int count = 0;
+        for (FlightDTO flight : flights) {
+            if (bucket(flight).putIfAbsent(sortKey(flight), copy(flight)) == null) {
+                dailyFares(flight).update(flight);
+            }
+            count++;
+        }
+        ready = true;
+        log.info("Route index loaded with {} flights on {} routes", count, routes.size());
+    }
+
+    /**
+     * Add a flight or replace its current snapshot (e.g. after a seat change)
+     */
+    public void put(FlightDTO flight) {
+        if (enabled) {
+            index(flight);
+        }
+    }
+
+    /**
+     * Like {@link #put}, but take the seat count from the given source. Used when nothing
+     * orders the writers (the in-memory inventory, updates published after commit): each
+     * read is numbered before it starts and runs without a lock, and a read is only stored
+     * if no later-numbered read of the flight has been stored yet. A later read starts after
+     * the commit of every earlier one, so the index ends on the latest count.
+     */
+    public void put(FlightDTO flight, IntSupplier currentSeats) {
+        if (!enabled) {
+            return;
+        }
+        long read = seatReads.incrementAndGet();
+        FlightDTO snapshot = copy(flight);
+        snapshot.setAvailableSeats(currentSeats.getAsInt());
+
+        ReentrantLock lock = seatLocks[Math.floorMod(flight.getId().hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            Long applied = appliedSeatReads.get(flight.getId());
+            if (applied != null && applied > read) {
+                return;
+            }
+            appliedSeatReads.put(flight.getId(), read);
+            index(snapshot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One entry per day from {@code from} to {@code to} (inclusive): the cheapest fare with
+     * seats left, or the cheapest fare overall when the day is sold out; days without
+     * flights have no price
+     */
+    public List<FareCalendarDayDTO> fareCalendar(String origin, String destination, LocalDate from, LocalDate to) {
+        ConcurrentSkipListMap<LocalDate, DailyFares> days = fares.getOrDefault(
+                new Route(origin, destination), new ConcurrentSkipListMap<>());
+
+        List<FareCalendarDayDTO> calendar = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DailyFares day = days.get(date);
+            FareKey cheapestWithSeats = day == null ? null : first(day.withSeats);
+            FareKey cheapest = day == null ? null : first(day.all);
+            if (cheapestWithSeats != null) {
+                calendar.add(new FareCalendarDayDTO(date, cheapestWithSeats.price(), true, day.all.size()));
+            } else if (cheapest != null) {
+                calendar.add(new FareCalendarDayDTO(date, cheapest.price(), false, day.all.size()));
+            } else {
+                calendar.add(new FareCalendarDayDTO(date, null, false, 0));
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * Flights on a route departing between the two dates (inclusive, either may be null
+     * for an open end), ordered by date, departure time and price
+     */
+    public List<FlightDTO> search(String origin, String destination, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, ConcurrentSkipListMap<SortKey, FlightDTO>> days = routes.get(new Route(origin, destination));
+        if (days == null) {
+            return List.of();
+        }
+        if (from != null && to != null) {
+            days = days.subMap(from, true, to, true);
+        } else if (from != null) {
+            days = days.tailMap(from, true);
+        } else if (to != null) {
+            days = days.headMap(to, true);
+        }
+
+        List<FlightDTO> result = new ArrayList<>();
+        days.values().forEach(bucket -> bucket.values().forEach(flight -> result.add(copy(flight))));
+        return result;
+    }
+
+    /**
+     * True if at least one flight has ever been indexed from origin to destination
+     */
+    boolean hasRoute(String origin, String destination) {
+        return routes.containsKey(new Route(origin, destination));
+    }
+
+    /**
+     * Flights leaving an airport between two instants (inclusive), to any destination.
+     * Returns the indexed snapshots themselves, so callers must not modify them.
+     */
+    List<FlightDTO> departures(String origin, LocalDateTime from, LocalDateTime to) {
+        List<FlightDTO> result = new ArrayList<>();
+        for (String destination : destinationsByOrigin.getOrDefault(origin, Set.of())) {
+            routes.get(new Route(origin, destination))
+                    .subMap(from.toLocalDate(), true, to.toLocalDate(), true)
+                    .forEach((date, bucket) -> {
+                        NavigableMap<SortKey, FlightDTO> slice = bucket;
+                        if (date.equals(from.toLocalDate())) {
+                            slice = slice.tailMap(new SortKey(from.toLocalTime(), Double.NEGATIVE_INFINITY, Long.MIN_VALUE), true);
+                        }
+                        if (date.equals(to.toLocalDate())) {
+                            slice = slice.headMap(new SortKey(to.toLocalTime(), Double.POSITIVE_INFINITY, Long.MAX_VALUE), true);
+                        }
+                        result.addAll(slice.values());
+                    });
+        }
+        return result;
+    }
+
+    private ConcurrentSkipListMap<SortKey, FlightDTO> bucket(FlightDTO flight) {
+        ConcurrentSkipListMap<LocalDate, ConcurrentSkipListMap<SortKey, FlightDTO>> days = routes
+                .computeIfAbsent(new Route(flight.getOrigin(), flight.getDestination()), route -> new ConcurrentSkipListMap<>());
+        // Only advertise the destination once its route exists, see departures()
+        destinationsByOrigin
+                .computeIfAbsent(flight.getOrigin(), origin -> ConcurrentHashMap.newKeySet())
+                .add(flight.getDestination());
+        return days.computeIfAbsent(flight.getDepartureDate(), date -> new ConcurrentSkipListMap<>(SORT_ORDER));
+    }
+
+    private void index(FlightDTO flight) {
+        bucket(flight).put(sortKey(flight), copy(flight));
+        dailyFares(flight).update(flight);
+    }
+
+    private DailyFares dailyFares(FlightDTO flight) {
+        return fares
+                .computeIfAbsent(new Route(flight.getOrigin(), flight.getDestination()), route -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(flight.getDepartureDate(), date -> new DailyFares());
+    }
+
+    private static FareKey first(ConcurrentSkipListSet<FareKey> fares) {
+        return fares.ceiling(LOWEST_FARE);
+    }
+
+    private static SortKey sortKey(FlightDTO flight) {
+        return new SortKey(flight.getDepartureTime(), flight.getPricePerSeat(), flight.getId());
+    }
+
+    /**
+     * Callers get their own copies, so the indexed snapshots can never be modified in place
+     */
+    static FlightDTO copy(FlightDTO flight) {
+        return new FlightDTO(
+                flight.getId(),
+                flight.getFlightNumber(),
+                flight.getOrigin(),
+                flight.getDestination(),
+                flight.getDepartureDate(),
+                flight.getDepartureTime(),
+                flight.getArrivalDate(),
+                flight.getArrivalTime(),
+                flight.getPricePerSeat(),
+                flight.getTotalSeats(),
+                flight.getAvailableSeats(),
+                flight.getAirline()
+        );
+    }
+
+    private record Route(String origin, String destination) {
+    }
+
+    private record SortKey(LocalTime departureTime, double price, long id) {
+    }
+
+    private record FareKey(double price, long id) implements Comparable<FareKey> {
+
+        @Override
+        public int compareTo(FareKey other) {
+            int byPrice = Double.compare(price, other.price);
+            return byPrice != 0 ? byPrice : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * A route's fares on one day: every flight, and the subset with seats left
+     */
+    private static final class DailyFares {
+
+        private final ConcurrentSkipListSet<FareKey> all = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<FareKey> withSeats = new ConcurrentSkipListSet<>();
+
+        private void update(FlightDTO flight) {
+            FareKey fare = new FareKey(flight.getPricePerSeat(), flight.getId());
+            all.add(fare);
+            if (flight.getAvailableSeats() > 0) {
+                withSeats.add(fare);
+            } else {
+                withSeats.remove(fare);
+            }
+        }
+    }
+}
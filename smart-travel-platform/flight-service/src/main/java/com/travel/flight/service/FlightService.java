@@ -2,16 +2,38 @@ package com.travel.flight.service;
 
 import com.travel.flight.dto.*;
 import com.travel.flight.entity.Flight;
+import com.travel.flight.entity.SeatReservation;
 import com.travel.flight.exception.FlightNotFoundException;
+import com.travel.flight.exception.InvalidSearchException;
 import com.travel.flight.exception.NoSeatsAvailableException;
+import com.travel.flight.exception.ReservationReleasedException;
+import com.travel.flight.exception.RouteIndexUnavailableException;
+import com.travel.flight.exception.SeatReleaseException;
 import com.travel.flight.repository.FlightRepository;
+import com.travel.flight.repository.SeatReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,7 +41,34 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FlightService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ALL_FLIGHTS_SQL =
+            "SELECT id, flight_number, origin, destination, departure_date, departure_time, arrival_date, " +
+            "arrival_time, price_per_seat, total_seats, available_seats, airline FROM flights ORDER BY id";
+
+    private static final String SEATS_SQL = "SELECT available_seats FROM flights WHERE id = ?";
+
     private final FlightRepository flightRepository;
+    private final SeatReservationRepository seatReservationRepository;
+    private final SeatInventory seatInventory;
+    private final FlightRouteIndex flightRouteIndex;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NdjsonExporter ndjsonExporter;
+
+    @Value("${flight.fare-calendar.max-days:366}")
+    private long fareCalendarMaxDays;
+
+    /**
+     * Load the route index from the flights table; searches use the table until this is done
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadRouteIndex() {
+        flightRouteIndex.load(flightRepository.findAll().stream().map(this::convertToDTO).toList());
+    }
 
     @Transactional
     public FlightDTO createFlight(FlightRequestDTO requestDTO) {
@@ -39,9 +88,12 @@ public class FlightService {
         flight.setAirline(requestDTO.getAirline());
 
         Flight savedFlight = flightRepository.save(flight);
+        seatInventory.register(savedFlight);
         log.info("Flight created successfully with id: {}", savedFlight.getId());
         
-        return convertToDTO(savedFlight);
+        FlightDTO flightDTO = convertToDTO(savedFlight);
+        afterCommit(() -> flightRouteIndex.put(flightDTO));
+        return flightDTO;
     }
 
     public FlightDTO getFlightById(Long flightId) {
@@ -59,42 +111,225 @@ public class FlightService {
         Flight flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
         
-        boolean available = flight.getAvailableSeats() > 0;
+        return toAvailability(flight);
+    }
+
+    /**
+     * Availability for many flights with a single query; unknown ids are left out of the result
+     */
+    public Map<Long, FlightAvailabilityDTO> checkAvailability(Collection<Long> flightIds) {
+        log.info("Checking availability for {} flights", flightIds.size());
         
-        return new FlightAvailabilityDTO(
-                flight.getId(),
-                flight.getFlightNumber(),
-                available,
-                flight.getAvailableSeats(),
-                flight.getPricePerSeat()
-        );
+        Map<Long, FlightAvailabilityDTO> availability = new LinkedHashMap<>();
+        flightRepository.findAllById(new LinkedHashSet<>(flightIds))
+                .forEach(flight -> availability.put(flight.getId(), toAvailability(flight)));
+        return availability;
     }
 
-    @Transactional
+    /**
+     * Reserve seats; with the in-memory inventory this runs without a transaction or any
+     * query, as the table is written by the inventory's flush
+     */
     public FlightDTO reserveSeats(Long flightId, ReservationDTO reservationDTO) {
         log.info("Reserving {} seats for flight id: {}", reservationDTO.getNumberOfSeats(), flightId);
         
-        Flight flight = flightRepository.findById(flightId)
+        if (seatInventory.isEnabled()) {
+            return reserveSeatsInMemory(flightId, reservationDTO);
+        }
+        return transactionTemplate.execute(status -> reserveSeatsInDatabase(flightId, reservationDTO));
+    }
+
+    private FlightDTO reserveSeatsInDatabase(Long flightId, ReservationDTO reservationDTO) {
+        Long bookingId = reservationDTO.getBookingId();
+        SeatReservation held = bookingId != null ? seatReservationRepository.findById(bookingId).orElse(null) : null;
+        if (held != null) {
+            return alreadyHeld(bookingId, held.getStatus(), convertToDTO(flightRepository.findById(flightId)
+                    .orElseThrow(() -> new FlightNotFoundException(flightId))));
+        }
+        
+        // Single conditional UPDATE: no read-modify-write race, and the row lock is only held until the commit that follows
+        int updated = flightRepository.reserveSeats(flightId, reservationDTO.getNumberOfSeats());
+        Flight updatedFlight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new FlightNotFoundException(flightId));
         
-        if (flight.getAvailableSeats() < reservationDTO.getNumberOfSeats()) {
+        if (updated == 0) {
             throw new NoSeatsAvailableException(flightId, 
                     reservationDTO.getNumberOfSeats(), 
-                    flight.getAvailableSeats());
+                    updatedFlight.getAvailableSeats());
         }
         
-        flight.setAvailableSeats(flight.getAvailableSeats() - reservationDTO.getNumberOfSeats());
-        Flight updatedFlight = flightRepository.save(flight);
+        if (bookingId != null) {
+            seatReservationRepository.save(new SeatReservation(
+                    bookingId, flightId, reservationDTO.getNumberOfSeats(), "RESERVED", null));
+        }
         
         log.info("Successfully reserved {} seats. Remaining: {}", 
                 reservationDTO.getNumberOfSeats(), updatedFlight.getAvailableSeats());
         
-        return convertToDTO(updatedFlight);
+        FlightDTO flightDTO = convertToDTO(updatedFlight);
+        afterCommit(() -> flightRouteIndex.put(flightDTO, () -> committedSeats(flightId)));
+        return flightDTO;
+    }
+
+    /**
+     * Give back seats taken by {@link #reserveSeats}, e.g. when a booking saga compensates.
+     * With a booking id only the seats that booking holds are given back, so repeating the
+     * release, or releasing a reservation that never went through, changes nothing.
+     */
+    public FlightDTO releaseSeats(Long flightId, ReservationDTO reservationDTO) {
+        log.info("Releasing {} seats for flight id: {}", reservationDTO.getNumberOfSeats(), flightId);
+        
+        if (seatInventory.isEnabled()) {
+            return releaseSeatsInMemory(flightId, reservationDTO);
+        }
+        return transactionTemplate.execute(status -> releaseSeatsInDatabase(flightId, reservationDTO));
+    }
+
+    private FlightDTO releaseSeatsInDatabase(Long flightId, ReservationDTO reservationDTO) {
+        Long bookingId = reservationDTO.getBookingId();
+        if (bookingId != null && !releaseHold(bookingId, flightId)) {
+            log.info("Booking {} holds no seats on flight {}, nothing to release", bookingId, flightId);
+            return convertToDTO(flightRepository.findById(flightId)
+                    .orElseThrow(() -> new FlightNotFoundException(flightId)));
+        }
+        
+        int updated = flightRepository.releaseSeats(flightId, reservationDTO.getNumberOfSeats());
+        Flight updatedFlight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new FlightNotFoundException(flightId));
+        
+        if (updated == 0) {
+            throw new SeatReleaseException(flightId, reservationDTO.getNumberOfSeats(), 
+                    updatedFlight.getAvailableSeats(), updatedFlight.getTotalSeats());
+        }
+        
+        log.info("Successfully released {} seats. Available: {}", 
+                reservationDTO.getNumberOfSeats(), updatedFlight.getAvailableSeats());
+        
+        FlightDTO flightDTO = convertToDTO(updatedFlight);
+        afterCommit(() -> flightRouteIndex.put(flightDTO, () -> committedSeats(flightId)));
+        return flightDTO;
+    }
+
+    /**
+     * Grant seats from the in-memory inventory; the table is updated by its write-behind flush
+     */
+    private FlightDTO reserveSeatsInMemory(Long flightId, ReservationDTO reservationDTO) {
+        Long bookingId = reservationDTO.getBookingId();
+        String held = bookingId != null ? seatInventory.claimHold(bookingId) : null;
+        if (held != null) {
+            return alreadyHeld(bookingId, held, seatInventory.getFlight(flightId));
+        }
+        
+        int remaining;
+        try {
+            remaining = seatInventory.tryReserve(flightId, reservationDTO.getNumberOfSeats());
+        } catch (RuntimeException e) {
+            dropHold(bookingId);
+            throw e;
+        }
+        if (remaining < 0) {
+            dropHold(bookingId);
+            throw new NoSeatsAvailableException(flightId, 
+                    reservationDTO.getNumberOfSeats(), 
+                    seatInventory.getAvailableSeats(flightId, 0));
+        }
+        
+        log.info("Successfully reserved {} seats in memory. Remaining: {}", 
+                reservationDTO.getNumberOfSeats(), remaining);
+        
+        FlightDTO flightDTO = seatInventory.getFlight(flightId);
+        flightDTO.setAvailableSeats(remaining);
+        afterCommit(() -> flightRouteIndex.put(flightDTO, () -> seatInventory.getAvailableSeats(flightId, remaining)));
+        return flightDTO;
+    }
+
+    /**
+     * Give seats back to the in-memory inventory; the table is updated by its write-behind flush
+     */
+    private FlightDTO releaseSeatsInMemory(Long flightId, ReservationDTO reservationDTO) {
+        Long bookingId = reservationDTO.getBookingId();
+        if (bookingId != null && !seatInventory.releaseHold(bookingId)) {
+            log.info("Booking {} holds no seats on flight {}, nothing to release", bookingId, flightId);
+            return seatInventory.getFlight(flightId);
+        }
+        
+        int available = seatInventory.release(flightId, reservationDTO.getNumberOfSeats());
+        FlightDTO flightDTO = seatInventory.getFlight(flightId);
+        if (available < 0) {
+            throw new SeatReleaseException(flightId, reservationDTO.getNumberOfSeats(), 
+                    flightDTO.getAvailableSeats(), flightDTO.getTotalSeats());
+        }
+        
+        flightDTO.setAvailableSeats(available);
+        afterCommit(() -> flightRouteIndex.put(flightDTO, () -> seatInventory.getAvailableSeats(flightId, available)));
+        return flightDTO;
+    }
+
+    /**
+     * Answer a repeated reserve: a booking that still holds its seats gets the flight as it
+     * is, one whose seats were released is refused
+     */
+    private FlightDTO alreadyHeld(Long bookingId, String status, FlightDTO flight) {
+        if ("RELEASED".equals(status)) {
+            throw new ReservationReleasedException(bookingId);
+        }
+        log.info("Booking {} already holds seats on flight {}", bookingId, flight.getId());
+        return flight;
+    }
+
+    private void dropHold(Long bookingId) {
+        if (bookingId != null) {
+            seatInventory.dropHold(bookingId);
+        }
+    }
+
+    /**
+     * Mark the booking's seats released, leaving a released row if it holds none so that a
+     * late reserve for it is refused
+     * @return true if the booking held seats, which the caller then gives back
+     */
+    private boolean releaseHold(Long bookingId, Long flightId) {
+        if (seatReservationRepository.markReleased(bookingId) == 1) {
+            return true;
+        }
+        if (!seatReservationRepository.existsById(bookingId)) {
+            seatReservationRepository.save(new SeatReservation(bookingId, flightId, 0, "RELEASED", null));
+        }
+        return false;
+    }
+
+    /**
+     * Update the route index once the surrounding transaction commits, so a rollback never
+     * leaves a flight or seat count in the index that is not in the table
+     */
+    private void afterCommit(Runnable indexUpdate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            indexUpdate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                indexUpdate.run();
+            }
+        });
+    }
+
+    /**
+     * Seats as last committed. Concurrent reservations can reach afterCommit in any order,
+     * so the index re-reads the row instead of storing each caller's own snapshot.
+     */
+    private int committedSeats(Long flightId) {
+        return jdbcTemplate.queryForObject(SEATS_SQL, Integer.class, flightId);
     }
 
     public List<FlightDTO> searchFlights(String origin, String destination, LocalDate date) {
         log.info("Searching flights from {} to {} on {}", origin, destination, date);
         
+        if (flightRouteIndex.isReady()) {
+            return flightRouteIndex.search(origin, destination, date, date);
+        }
+        
         List<Flight> flights;
         if (date != null) {
             flights = flightRepository.findByOriginAndDestinationAndDepartureDate(origin, destination, date);
@@ -107,6 +342,25 @@ public class FlightService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Cheapest fare and seat availability per day for a route, read from the route index
+     */
+    public List<FareCalendarDayDTO> getFareCalendar(String origin, String destination, LocalDate from, LocalDate to) {
+        log.info("Fare calendar from {} to {} between {} and {}", origin, destination, from, to);
+        
+        if (to.isBefore(from)) {
+            throw new InvalidSearchException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= fareCalendarMaxDays) {
+            throw new InvalidSearchException("Date range must not exceed " + fareCalendarMaxDays + " days");
+        }
+        if (!flightRouteIndex.isReady()) {
+            throw new RouteIndexUnavailableException();
+        }
+        
+        return flightRouteIndex.fareCalendar(origin, destination, from, to);
+    }
+
     public List<FlightDTO> getAllFlights() {
         log.info("Fetching all flights");
         
@@ -115,6 +369,36 @@ public class FlightService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Write all flights as NDJSON, row by row from a JDBC cursor,
+     * without materializing them as a list or as entities
+     */
+    @Transactional(readOnly = true)
+    public void streamAllFlights(OutputStream out) {
+        log.info("Streaming all flights");
+        ndjsonExporter.write(out, ALL_FLIGHTS_SQL, (rs, rowNum) -> mapRow(rs));
+    }
+
+    /**
+     * One page of flights, optionally on one route and day, in sort order starting after the
+     * given cursor; the page size is clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    public FlightPageDTO getFlightsPage(String origin, String destination, LocalDate date,
+                                        String sort, String after, Set<String> fields, int requestedSize) {
+        int size = Math.max(1, Math.min(requestedSize, MAX_PAGE_SIZE));
+        log.info("Fetching flights page from {} to {} on {} by {} after {} (page size {}, fields {})", 
+                origin, destination, date, sort, after, size, fields);
+        
+        FlightPageDTO page = flightRepository.findPage(origin, destination, date, sort, after, fields, size);
+        if (seatInventory.isEnabled()) {
+            page.getFlights().stream()
+                    .filter(flight -> flight.getAvailableSeats() != null)
+                    .forEach(flight -> flight.setAvailableSeats(
+                            seatInventory.getAvailableSeats(flight.getId(), flight.getAvailableSeats())));
+        }
+        return page;
+    }
+
     private FlightDTO convertToDTO(Flight flight) {
         return new FlightDTO(
                 flight.getId(),
@@ -127,8 +411,42 @@ public class FlightService {
                 flight.getArrivalTime(),
                 flight.getPricePerSeat(),
                 flight.getTotalSeats(),
-                flight.getAvailableSeats(),
+                availableSeats(flight),
                 flight.getAirline()
         );
     }
+
+    private FlightDTO mapRow(ResultSet rs) throws SQLException {
+        long id = rs.getLong("id");
+        int availableSeats = rs.getInt("available_seats");
+        return new FlightDTO(
+                id,
+                rs.getString("flight_number"),
+                rs.getString("origin"),
+                rs.getString("destination"),
+                rs.getDate("departure_date").toLocalDate(),
+                rs.getTime("departure_time").toLocalTime(),
+                rs.getDate("arrival_date").toLocalDate(),
+                rs.getTime("arrival_time").toLocalTime(),
+                rs.getDouble("price_per_seat"),
+                rs.getInt("total_seats"),
+                seatInventory.isEnabled() ? seatInventory.getAvailableSeats(id, availableSeats) : availableSeats,
+                rs.getString("airline")
+        );
+    }
+
+    private FlightAvailabilityDTO toAvailability(Flight flight) {
+        int availableSeats = availableSeats(flight);
+        return new FlightAvailabilityDTO(
+                flight.getId(),
+                flight.getFlightNumber(),
+                availableSeats > 0,
+                availableSeats,
+                flight.getPricePerSeat()
+        );
+    }
+
+    private int availableSeats(Flight flight) {
+        return seatInventory.isEnabled() ? seatInventory.getAvailableSeats(flight) : flight.getAvailableSeats();
+    }
 }
@@ -0,0 +1,282 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.entity.Flight;
+import com.travel.flight.exception.FlightNotFoundException;
+import com.travel.flight.exception.SeatInventoryUnavailableException;
+import com.travel.flight.repository.FlightRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional in-memory seat inventory (flight.inventory.in-memory.enabled).
+ * <p>
+ * Each flight has its own lock-free counter, so reservations on different flights
+ * never contend and reservations on the same flight are a single CAS. Granted seats
+ * (and released ones, as negative amounts) are recorded as pending decrements and
+ * written to the flights table in JDBC batches on a schedule (write-behind). Each counter
+ * keeps the flight's details as registered, which never change after creation, so a grant
+ * or release touches no table at all. On startup the counters are loaded from
+ * the table, which is the source of truth after a restart; reservations and releases are
+ * refused until then, so no grant can be made against a counter that is about to be
+ * loaded. Decrements granted but not yet flushed when the process dies are lost, so at
+ * most one flush interval of reservations is at risk.
+ * <p>
+ * Reservations made for a booking also leave a hold keyed by booking id, so a release for
+ * that booking gives back only what it holds. Holds live in memory only and are dropped
+ * after hold-retention-minutes; a release that finds none gives nothing back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventory {
+
+    private static final String FLUSH_SQL =
+            "UPDATE flights SET available_seats = available_seats - ? WHERE id = ?";
+
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> pendingDecrements = new ConcurrentHashMap<>();
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+
+    @Value("${flight.inventory.in-memory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${flight.inventory.in-memory.flush-batch-size:200}")
+    private int flushBatchSize;
+
+    @Value("${flight.inventory.in-memory.hold-retention-minutes:60}")
+    private long holdRetentionMinutes;
+
+    private volatile boolean ready;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Load a counter for every flight from the flights table; counters that already exist
+     * are kept, so nothing granted or pending is lost if this runs again
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        flightRepository.findAll().forEach(this::register);
+        ready = true;
+        log.info("Seat inventory loaded for {} flights", seats.size());
+    }
+
+    public void register(Flight flight) {
+        if (enabled) {
+            seatsFor(flight);
+        }
+    }
+
+    /**
+     * Current seat count, seeding the counter from the given entity on first use
+     */
+    public int getAvailableSeats(Flight flight) {
+        return seatsFor(flight).available().get();
+    }
+
+    /**
+     * Current seat count for a flight known only by id (e.g. a projected row);
+     * flights without a counter yet report the given count
+     */
+    public int getAvailableSeats(Long flightId, int fallback) {
+        Seats entry = seats.get(flightId);
+        return entry != null ? entry.available().get() : fallback;
+    }
+
+    /**
+     * A registered flight with its current seat count, for the grant paths to answer with
+     * @throws FlightNotFoundException if no such flight was registered
+     */
+    public FlightDTO getFlight(Long flightId) {
+        Seats entry = seatsOf(flightId);
+        FlightDTO flight = FlightRouteIndex.copy(entry.flight());
+        flight.setAvailableSeats(entry.available().get());
+        return flight;
+    }
+
+    /**
+     * Grant seats if enough are left
+     * @return remaining seats after the reservation, or -1 if there were not enough seats
+     * @throws SeatInventoryUnavailableException until {@link #recover} has run
+     * @throws FlightNotFoundException if no such flight was registered
+     */
+    public int tryReserve(Long flightId, int count) {
+        checkReady();
+        AtomicInteger counter = seatsOf(flightId).available();
+        while (true) {
+            int current = counter.get();
+            if (current < count) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current - count)) {
+                pendingDecrements.computeIfAbsent(flightId, id -> new AtomicInteger()).addAndGet(count);
+                return current - count;
+            }
+        }
+    }
+
+    /**
+     * Give seats back, never going above the flight's capacity
+     * @return available seats after the release, or -1 if the release would exceed capacity
+     * @throws SeatInventoryUnavailableException until {@link #recover} has run
+     * @throws FlightNotFoundException if no such flight was registered
+     */
+    public int release(Long flightId, int count) {
+        checkReady();
+        Seats entry = seatsOf(flightId);
+        AtomicInteger counter = entry.available();
+        while (true) {
+            int current = counter.get();
+            if (current + count > entry.flight().getTotalSeats()) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current + count)) {
+                pendingDecrements.computeIfAbsent(flightId, id -> new AtomicInteger()).addAndGet(-count);
+                return current + count;
+            }
+        }
+    }
+
+    /**
+     * Claim the booking's hold before its seats are granted
+     * @return null if claimed, otherwise the status of the hold the booking already has
+     */
+    public String claimHold(Long bookingId) {
+        Hold existing = holds.putIfAbsent(bookingId, new Hold("RESERVED", System.currentTimeMillis()));
+        return existing != null ? existing.status() : null;
+    }
+
+    /**
+     * Drop a hold claimed for seats that were then not granted
+     */
+    public void dropHold(Long bookingId) {
+        holds.computeIfPresent(bookingId, (id, hold) -> "RESERVED".equals(hold.status()) ? null : hold);
+    }
+
+    /**
+     * Mark the booking's hold released, leaving a released hold if it had none so that a
+     * late reserve for it is refused
+     * @return true if the booking held seats, which the caller then gives back
+     */
+    public boolean releaseHold(Long bookingId) {
+        Hold previous = holds.put(bookingId, new Hold("RELEASED", System.currentTimeMillis()));
+        return previous != null && "RESERVED".equals(previous.status());
+    }
+
+    @Scheduled(fixedDelayString = "${flight.inventory.in-memory.hold-prune-interval-ms:60000}")
+    public void pruneHolds() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(holdRetentionMinutes);
+        holds.values().removeIf(hold -> hold.since() < cutoff);
+    }
+
+    @Scheduled(fixedDelayString = "${flight.inventory.in-memory.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled || pendingDecrements.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(flushBatchSize);
+        for (Map.Entry<Long, AtomicInteger> entry : pendingDecrements.entrySet()) {
+            int seats = entry.getValue().getAndSet(0);
+            if (seats != 0) {
+                batch.add(new Object[]{seats, entry.getKey()});
+            }
+            if (batch.size() == flushBatchSize) {
+                writeBatch(batch);
+                batch = new ArrayList<>(flushBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            log.debug("Flushed seat decrements for {} flights", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Seat flush failed, will retry: {}", e.getMessage());
+            batch.forEach(row -> pendingDecrements
+                    .computeIfAbsent((Long) row[1], id -> new AtomicInteger())
+                    .addAndGet((Integer) row[0]));
+        }
+    }
+
+    private void checkReady() {
+        if (!ready) {
+            throw new SeatInventoryUnavailableException();
+        }
+    }
+
+    private Seats seatsOf(Long flightId) {
+        Seats entry = seats.get(flightId);
+        if (entry == null) {
+            throw new FlightNotFoundException(flightId);
+        }
+        return entry;
+    }
+
+    /**
+     * The flight's entry, created from the given entity on first use
+     */
+    private Seats seatsFor(Flight flight) {
+        return seats.computeIfAbsent(flight.getId(), id -> new Seats(
+                new FlightDTO(
+                        flight.getId(),
+                        flight.getFlightNumber(),
+                        flight.getOrigin(),
+                        flight.getDestination(),
+                        flight.getDepartureDate(),
+                        flight.getDepartureTime(),
+                        flight.getArrivalDate(),
+                        flight.getArrivalTime(),
+                        flight.getPricePerSeat(),
+                        flight.getTotalSeats(),
+                        null,
+                        flight.getAirline()),
+                new AtomicInteger(flight.getAvailableSeats())));
+    }
+
+    /**
+     * A flight's details as registered (without a seat count) and its live seat counter
+     */
+    private record Seats(FlightDTO flight, AtomicInteger available) {
+    }
+
+    /**
+     * A booking's hold: RESERVED while it has seats, RELEASED once they were given back
+     */
+    private record Hold(String status, long since) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.travel.flight.controller;
+
+import com.travel.flight.service.FlightConnectionService;
+import com.travel.flight.service.FlightService;
+import com.travel.flight.service.NdjsonExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FlightController.class)
+class FlightControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightService flightService;
+
+    @MockBean
+    private FlightConnectionService flightConnectionService;
+
+    @MockBean
+    private NdjsonExporter ndjsonExporter;
+
+    @Test
+    void acceptsUpToFiveHundredIds() throws Exception {
+        when(flightService.checkAvailability(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(post("/api/flights/check-availability/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids(500)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsLargerBatches() throws Exception {
+        mockMvc.perform(post("/api/flights/check-availability/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids(501)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 500 flights per request"));
+    }
+
+    private static String ids(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.travel.flight.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.FlightRequestDTO;
+import com.travel.flight.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON export writes one flight per line, matching the JSON list, and runs with
+ * its own timeout rather than the MVC async request timeout
+ */
+@SpringBootTest(properties = "flight.stream.timeout-ms=45000")
+@AutoConfigureMockMvc
+class FlightExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryFlightAsOneJsonLine() throws Exception {
+        LocalDate departure = LocalDate.now().plusDays(30);
+        for (int i = 0; i < 3; i++) {
+            flightService.createFlight(new FlightRequestDTO("EX" + i, "NDJ", "SON", departure,
+                    LocalTime.of(9 + i, 0), departure, LocalTime.of(12, 0), 120.0 + i, 50, "Export Air"));
+        }
+
+        MvcResult export = mockMvc.perform(get("/api/flights").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(45_000);
+
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<FlightDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, FlightDTO.class));
+        }
+        assertThat(exported).containsExactlyElementsOf(flightService.getAllFlights().stream()
+                .sorted(Comparator.comparing(FlightDTO::getId))
+                .toList());
+    }
+}
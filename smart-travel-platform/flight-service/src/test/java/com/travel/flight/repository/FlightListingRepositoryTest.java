@@ -0,0 +1,110 @@
+package com.travel.flight.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.FlightPageDTO;
+import com.travel.flight.dto.FlightProjectionDTO;
+import com.travel.flight.entity.Flight;
+import com.travel.flight.exception.InvalidSearchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walking every page must return each flight once, in sort order, with ties on the sort
+ * columns broken by id
+ */
+@DataJpaTest
+class FlightListingRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 1);
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 13; i++) {
+            Flight flight = new Flight();
+            flight.setFlightNumber("KS" + i);
+            flight.setOrigin("AAA");
+            flight.setDestination("BBB");
+            flight.setDepartureDate(DAY.plusDays(i % 2));
+            flight.setDepartureTime(LocalTime.of(8 + i % 3, 0));
+            flight.setArrivalDate(DAY.plusDays(i % 2));
+            flight.setArrivalTime(LocalTime.of(12, 0));
+            flight.setPricePerSeat(100.0 + 50 * (i % 3));
+            flight.setTotalSeats(100);
+            flight.setAvailableSeats(100);
+            flight.setAirline("Keyset Air");
+            flightRepository.save(flight);
+        }
+    }
+
+    @Test
+    void pagesByDepartureCoverEveryFlightOnce() {
+        assertThat(walk("departure")).containsExactlyElementsOf(sortedIds(Comparator
+                .comparing(Flight::getDepartureDate)
+                .thenComparing(Flight::getDepartureTime)
+                .thenComparing(Flight::getId)));
+    }
+
+    @Test
+    void pagesByPriceCoverEveryFlightOnce() {
+        assertThat(walk("price")).containsExactlyElementsOf(sortedIds(Comparator
+                .comparing(Flight::getPricePerSeat)
+                .thenComparing(Flight::getId)));
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String cursor = flightRepository.findPage("AAA", "BBB", null, "price", null, null, 4).getNextCursor();
+
+        assertThatThrownBy(() -> flightRepository.findPage("AAA", "BBB", null, "departure", cursor, null, 4))
+                .isInstanceOf(InvalidSearchException.class);
+    }
+
+    @Test
+    void projectionOmitsUnselectedFieldsButFullFlightsKeepNulls() throws Exception {
+        FlightDTO projected = flightRepository.findPage("AAA", "BBB", null, "price", null,
+                Set.of("pricePerSeat"), 1).getFlights().get(0);
+
+        assertThat(projected).isInstanceOf(FlightProjectionDTO.class);
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(projected)).fieldNames())
+                .toIterable().containsExactlyInAnyOrder("id", "pricePerSeat");
+
+        FlightDTO full = flightRepository.findPage("AAA", "BBB", null, "price", null, null, 1).getFlights().get(0);
+        full.setAirline(null);
+        assertThat(full).isNotInstanceOf(FlightProjectionDTO.class);
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(full)).get("airline").isNull()).isTrue();
+    }
+
+    private List<Long> walk(String sort) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        FlightPageDTO page;
+        do {
+            page = flightRepository.findPage("AAA", "BBB", null, sort, after, null, 4);
+            page.getFlights().forEach(flight -> ids.add(flight.getId()));
+            after = page.getNextCursor();
+        } while (page.isHasMore());
+        return ids;
+    }
+
+    private List<Long> sortedIds(Comparator<Flight> order) {
+        return flightRepository.findAll().stream().sorted(order).map(Flight::getId).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FlightDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRouteIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    private final FlightRouteIndex index = new FlightRouteIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.load(List.of(flight(10)));
+    }
+
+    @Test
+    void slowEarlierSeatReadDoesNotOverwriteLaterOne() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> index.put(flight(10), () -> {
+            reading.countDown();
+            await(release);
+            return 9;
+        }));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // a later read is not blocked by the slow one and is stored
+        index.put(flight(10), () -> 8);
+        assertThat(seats()).isEqualTo(8);
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertThat(seats()).isEqualTo(8);
+    }
+
+    private int seats() {
+        return index.search("AAA", "BBB", DAY, DAY).get(0).getAvailableSeats();
+    }
+
+    private static FlightDTO flight(int seats) {
+        return new FlightDTO(1L, "RI1", "AAA", "BBB", DAY, LocalTime.of(9, 0),
+                DAY, LocalTime.of(11, 0), 100.0, 10, seats, "Index Air");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.FlightRequestDTO;
+import com.travel.flight.dto.ReservationDTO;
+import com.travel.flight.exception.NoSeatsAvailableException;
+import com.travel.flight.exception.ReservationReleasedException;
+import com.travel.flight.repository.FlightRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many threads reserving one seat at a time on the same flight: exactly the flight's
+ * capacity is granted, the rest are refused, and the seat count never goes negative.
+ * Runs against the conditional UPDATE and against the in-memory inventory; either way the
+ * route index ends up with the committed count.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.travel.flight=WARN",
+        "logging.level.org.hibernate.SQL=INFO"})
+class FlightServiceReserveStressTest {
+
+    private static final int SEATS = 100;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final LocalDate DEPARTURE = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void conditionalUpdateNeverOversells() throws Exception {
+        hammerOneFlight("conditional UPDATE");
+    }
+
+    @Test
+    void rolledBackReservationIsNotIndexed() {
+        Long flightId = createFlight();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            flightService.reserveSeats(flightId, new ReservationDTO(5));
+            status.setRollbackOnly();
+        });
+
+        assertThat(flightRepository.findById(flightId).orElseThrow().getAvailableSeats()).isEqualTo(SEATS);
+        assertThat(indexedSeats(flightId)).isEqualTo(SEATS);
+    }
+
+    @Test
+    void bookingReleaseGivesBackOnlyWhatTheBookingHolds() {
+        Long flightId = createFlight();
+
+        flightService.reserveSeats(flightId, new ReservationDTO(4, 7L));
+        assertThat(flightService.reserveSeats(flightId, new ReservationDTO(4, 7L)).getAvailableSeats())
+                .isEqualTo(SEATS - 4);
+
+        assertThat(flightService.releaseSeats(flightId, new ReservationDTO(4, 7L)).getAvailableSeats())
+                .isEqualTo(SEATS);
+        assertThat(flightService.releaseSeats(flightId, new ReservationDTO(4, 7L)).getAvailableSeats())
+                .isEqualTo(SEATS);
+
+        // releasing a reservation that never arrived gives nothing back and refuses it later
+        flightService.reserveSeats(flightId, new ReservationDTO(2));
+        assertThat(flightService.releaseSeats(flightId, new ReservationDTO(3, 8L)).getAvailableSeats())
+                .isEqualTo(SEATS - 2);
+        assertThatThrownBy(() -> flightService.reserveSeats(flightId, new ReservationDTO(3, 8L)))
+                .isInstanceOf(ReservationReleasedException.class);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "flight.inventory.in-memory.enabled=true")
+    class InMemoryInventory {
+
+        @Test
+        void inMemoryInventoryNeverOversells() throws Exception {
+            hammerOneFlight("in-memory inventory");
+        }
+    }
+
+    private void hammerOneFlight(String path) throws Exception {
+        Long flightId = createFlight();
+
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicInteger lowestRemaining = new AtomicInteger(SEATS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        FlightDTO flight = flightService.reserveSeats(flightId, new ReservationDTO(1));
+                        granted.incrementAndGet();
+                        lowestRemaining.accumulateAndGet(flight.getAvailableSeats(), Math::min);
+                    } catch (NoSeatsAvailableException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        pool.shutdown();
+        seatInventory.flush();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        System.out.printf("%s: %d reservations on one flight from %d threads in %d ms (%.0f/s), %d granted%n",
+                path, attempts, THREADS, elapsedMs, attempts * 1000.0 / elapsedMs, granted.get());
+        assertThat(granted.get()).isEqualTo(SEATS);
+        assertThat(refused.get()).isEqualTo(attempts - SEATS);
+        assertThat(lowestRemaining.get()).isZero();
+        assertThat(flightRepository.findById(flightId).orElseThrow().getAvailableSeats()).isZero();
+        // index updates are published after commit, in any order, and still end at the table's count
+        assertThat(indexedSeats(flightId)).isZero();
+    }
+
+    private Long createFlight() {
+        return flightService.createFlight(new FlightRequestDTO("ST" + System.nanoTime() % 10_000,
+                "AAA", "BBB", DEPARTURE, LocalTime.of(9, 0),
+                DEPARTURE, LocalTime.of(11, 0), 100.0, SEATS, "Stress Air")).getId();
+    }
+
+    private int indexedSeats(Long flightId) {
+        return flightRouteIndex.search("AAA", "BBB", DEPARTURE, DEPARTURE).stream()
+                .filter(flight -> flight.getId().equals(flightId))
+                .findFirst().orElseThrow()
+                .getAvailableSeats();
+    }
+}
@@ -0,0 +1,100 @@
+package com.travel.flight.service;
+
+import com.travel.flight.dto.FlightDTO;
+import com.travel.flight.dto.ReservationDTO;
+import com.travel.flight.entity.Flight;
+import com.travel.flight.exception.SeatInventoryUnavailableException;
+import com.travel.flight.repository.FlightRepository;
+import com.travel.flight.repository.SeatReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryTest {
+
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final SeatInventory seatInventory = new SeatInventory(
+            flightRepository, mock(JdbcTemplate.class), mock(TransactionTemplate.class));
+
+    private final Flight flight = new Flight();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatInventory, "enabled", true);
+        flight.setId(1L);
+        flight.setFlightNumber("SI1");
+        flight.setTotalSeats(10);
+        flight.setAvailableSeats(10);
+        when(flightRepository.findAll()).thenReturn(List.of(flight));
+    }
+
+    @Test
+    void refusesReservationsUntilRecovered() {
+        assertThatThrownBy(() -> seatInventory.tryReserve(1L, 1))
+                .isInstanceOf(SeatInventoryUnavailableException.class);
+        assertThatThrownBy(() -> seatInventory.release(1L, 1))
+                .isInstanceOf(SeatInventoryUnavailableException.class);
+
+        seatInventory.recover();
+
+        assertThat(seatInventory.tryReserve(1L, 1)).isEqualTo(9);
+    }
+
+    @Test
+    void recoveringAgainKeepsGrantedSeats() {
+        seatInventory.recover();
+        assertThat(seatInventory.tryReserve(1L, 3)).isEqualTo(7);
+
+        // the table still says 10 until the next flush
+        seatInventory.recover();
+
+        assertThat(seatInventory.getAvailableSeats(flight)).isEqualTo(7);
+        assertThat(seatInventory.tryReserve(1L, 8)).isEqualTo(-1);
+    }
+
+    @Test
+    void grantAndReleaseDoNotTouchTheTable() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        SeatReservationRepository seatReservationRepository = mock(SeatReservationRepository.class);
+        FlightService flightService = new FlightService(flightRepository, seatReservationRepository, seatInventory,
+                new FlightRouteIndex(), jdbcTemplate, transactionTemplate, mock(NdjsonExporter.class));
+        seatInventory.recover();
+
+        FlightDTO reserved = flightService.reserveSeats(1L, new ReservationDTO(5, 7L));
+        FlightDTO released = flightService.releaseSeats(1L, new ReservationDTO(1));
+
+        assertThat(reserved.getFlightNumber()).isEqualTo("SI1");
+        assertThat(reserved.getAvailableSeats()).isEqualTo(5);
+        assertThat(released.getAvailableSeats()).isEqualTo(6);
+        verify(flightRepository).findAll();
+        verifyNoMoreInteractions(flightRepository);
+        verifyNoInteractions(seatReservationRepository, jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void releasingABookingGivesBackOnlyWhatItHolds() {
+        seatInventory.recover();
+        assertThat(seatInventory.claimHold(7L)).isNull();
+        assertThat(seatInventory.claimHold(7L)).isEqualTo("RESERVED");
+
+        assertThat(seatInventory.releaseHold(7L)).isTrue();
+        assertThat(seatInventory.releaseHold(7L)).isFalse();
+
+        // a booking released before its reserve arrived is refused when it does
+        assertThat(seatInventory.releaseHold(8L)).isFalse();
+        assertThat(seatInventory.claimHold(8L)).isEqualTo("RELEASED");
+    }
+}
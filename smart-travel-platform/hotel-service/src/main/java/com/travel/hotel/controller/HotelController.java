@@ -1,19 +1,26 @@
 package com.travel.hotel.controller;
 
 import com.travel.hotel.dto.*;
+import com.travel.hotel.service.NdjsonExporter;
 import com.travel.hotel.service.HotelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Validated
 @RequestMapping("/api/hotels")
 @RequiredArgsConstructor
 @Slf4j
@@ -21,6 +28,7 @@ import java.util.List;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping
     @Operation(summary = "Create new hotel")
@@ -52,6 +60,16 @@ public class HotelController {
         return ResponseEntity.ok(availability);
     }
 
+    @PostMapping("/check-availability/batch")
+    @Operation(summary = "Check availability of many hotels", 
+            description = "Resolves all ids with one query and returns availability keyed by hotel id; unknown ids are omitted")
+    public ResponseEntity<Map<Long, HotelAvailabilityDTO>> checkAvailabilityBatch(
+            @RequestBody @Size(max = 500, message = "At most 500 hotels per request") List<Long> ids) {
+        log.info("POST /api/hotels/check-availability/batch - {} hotels", ids.size());
+        Map<Long, HotelAvailabilityDTO> availability = hotelService.checkAvailability(ids);
+        return ResponseEntity.ok(availability);
+    }
+
     @PutMapping("/{id}/reserve")
     @Operation(summary = "Reserve rooms")
     public ResponseEntity<HotelResponseDTO> reserveRooms(
@@ -65,6 +83,19 @@ public class HotelController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/release")
+    @Operation(summary = "Release rooms", description = "Gives back previously reserved rooms (booking compensation)")
+    public ResponseEntity<HotelResponseDTO> releaseRooms(
+            @PathVariable Long id,
+            @Valid @RequestBody RoomReservationDTO reservationDTO) {
+        log.info("PUT /api/hotels/{}/release - Releasing {} rooms", id, reservationDTO.getNumberOfRooms());
+        HotelDTO hotelDTO = hotelService.releaseRooms(id, reservationDTO);
+        HotelResponseDTO response = new HotelResponseDTO(
+                true, "Rooms released successfully", hotelDTO
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search hotels")
     public ResponseEntity<List<HotelDTO>> searchHotels(
@@ -75,6 +106,21 @@ public class HotelController {
         return ResponseEntity.ok(hotels);
     }
 
+    @GetMapping(value = "/search", params = "size")
+    @Operation(summary = "Search hotels page", 
+            description = "Keyset pagination by price or rating; pass nextCursor from the previous page as 'after' " +
+                    "and optionally a comma-separated list of fields to return (the id is always included)")
+    public ResponseEntity<HotelPageDTO> searchHotelsPage(
+            @RequestParam String location,
+            @RequestParam(required = false) Integer starRating,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam int size) {
+        log.info("GET /api/hotels/search?location={}&sort={}&after={}&size={}", location, sort, after, size);
+        return ResponseEntity.ok(hotelService.getHotelsPage(location, starRating, sort, after, fields, size));
+    }
+
     @GetMapping
     @Operation(summary = "Get all hotels")
     public ResponseEntity<List<HotelDTO>> getAllHotels() {
@@ -82,4 +128,27 @@ public class HotelController {
         List<HotelDTO> hotels = hotelService.getAllHotels();
         return ResponseEntity.ok(hotels);
     }
+
+    @GetMapping(params = "size")
+    @Operation(summary = "Get hotels page", 
+            description = "Keyset pagination by price or rating; pass nextCursor from the previous page as 'after' " +
+                    "and optionally a comma-separated list of fields to return (the id is always included)")
+    public ResponseEntity<HotelPageDTO> getHotelsPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "price") String sort,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam int size) {
+        log.info("GET /api/hotels?sort={}&after={}&size={}", sort, after, size);
+        return ResponseEntity.ok(hotelService.getHotelsPage(null, null, sort, after, fields, size));
+    }
+
+    @GetMapping(produces = "application/x-ndjson")
+    @Operation(summary = "Export all hotels", 
+            description = "All hotels as NDJSON, one per line, streamed from the database (Accept: application/x-ndjson)")
+    public ResponseEntity<ResponseBodyEmitter> streamAllHotels() {
+        log.info("GET /api/hotels - Streaming all hotels as NDJSON");
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(hotelService::streamAllHotels));
+    }
 }
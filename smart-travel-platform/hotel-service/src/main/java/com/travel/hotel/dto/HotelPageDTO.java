@@ -0,0 +1,16 @@
+package com.travel.hotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelPageDTO {
+    private List<HotelDTO> hotels;
+    private String nextCursor; // pass as "after" with the same sort to get the next page; null on the last page
+    private boolean hasMore;
+}
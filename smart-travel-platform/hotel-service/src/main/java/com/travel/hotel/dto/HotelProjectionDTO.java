@@ -0,0 +1,11 @@
+package com.travel.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A hotel from a page with a field projection; only the selected fields are set, and the
+ * others are left out of the JSON instead of being serialized as null
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HotelProjectionDTO extends HotelDTO {
+}
@@ -14,4 +14,12 @@ public class RoomReservationDTO {
     @NotNull(message = "Number of rooms is required")
     @Min(value = 1, message = "Must reserve at least 1 room")
     private Integer numberOfRooms;
+
+    // Optional: when set, a repeated reserve takes no more rooms and a release gives back
+    // only rooms this booking actually holds
+    private Long bookingId;
+
+    public RoomReservationDTO(Integer numberOfRooms) {
+        this.numberOfRooms = numberOfRooms;
+    }
 }
@@ -6,7 +6,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels",
+        indexes = {
+                @Index(name = "idx_hotels_location", columnList = "location, star_rating"),
+                @Index(name = "idx_hotels_price", columnList = "price_per_night, id"),
+                @Index(name = "idx_hotels_rating", columnList = "star_rating desc, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,40 @@
+package com.travel.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rooms held for one booking. A RELEASED row with no rooms is left when a booking that
+ * never held rooms is released, so a reserve for it that arrives late is refused.
+ */
+@Entity
+@Table(name = "room_reservations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomReservation {
+
+    @Id
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long hotelId;
+
+    @Column(nullable = false)
+    private Integer rooms;
+
+    @Column(nullable = false)
+    private String status; // RESERVED, RELEASED
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package com.travel.hotel.exception;
+
+public class ReservationReleasedException extends RuntimeException {
+    public ReservationReleasedException(Long bookingId) {
+        super(String.format("Rooms for booking %d were already released", bookingId));
+    }
+}
@@ -0,0 +1,8 @@
+package com.travel.hotel.exception;
+
+public class RoomReleaseException extends RuntimeException {
+    public RoomReleaseException(Long hotelId, Integer released, Integer available, Integer total) {
+        super(String.format("Cannot release %d rooms at hotel %d. Available: %d, Total: %d", 
+                released, hotelId, available, total));
+    }
+}
@@ -0,0 +1,19 @@
+package com.travel.hotel.repository;
+
+import com.travel.hotel.dto.HotelPageDTO;
+
+import java.util.Set;
+
+/**
+ * Keyset-paginated hotel listing, mixed into {@link HotelRepository}
+ */
+public interface HotelListingRepository {
+
+    /**
+     * One page of hotels ordered by the given sort key and then id, starting after the cursor
+     * of the previous page. Location and star rating narrow the listing when not null.
+     * With fields, only those columns (and the id) are read and set on the returned hotels.
+     */
+    HotelPageDTO findPage(String location, Integer starRating,
+                          String sort, String after, Set<String> fields, int size);
+}
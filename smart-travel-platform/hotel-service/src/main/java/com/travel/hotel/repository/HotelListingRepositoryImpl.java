@@ -0,0 +1,53 @@
+package com.travel.hotel.repository;
+
+import com.travel.hotel.dto.HotelDTO;
+import com.travel.hotel.dto.HotelPageDTO;
+import com.travel.hotel.dto.HotelProjectionDTO;
+import com.travel.hotel.entity.Hotel;
+import com.travel.hotel.repository.KeysetQuery.SortColumn;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Criteria query behind {@link HotelListingRepository#findPage}; the keyset paging,
+ * cursors and field projection are done by {@link KeysetQuery}
+ */
+public class HotelListingRepositoryImpl implements HotelListingRepository {
+
+    /**
+     * Sort name to its columns; id (ascending) breaks ties
+     */
+    private static final Map<String, List<SortColumn>> SORTS = Map.of(
+            "price", List.of(SortColumn.asc("pricePerNight")),
+            "rating", List.of(SortColumn.desc("starRating")));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public HotelPageDTO findPage(String location, Integer starRating,
+                                 String sort, String after, Set<String> fields, int size) {
+        Supplier<HotelDTO> newDto = fields == null || fields.isEmpty() ? HotelDTO::new : HotelProjectionDTO::new;
+        KeysetQuery.Page<HotelDTO> page = new KeysetQuery<>(entityManager, Hotel.class, SORTS)
+                .fetch(sort, after, fields, size, (cb, hotel) -> {
+                    List<Predicate> where = new ArrayList<>();
+                    if (location != null) {
+                        where.add(cb.equal(hotel.get("location"), location));
+                    }
+                    if (starRating != null) {
+                        where.add(cb.equal(hotel.get("starRating"), starRating));
+                    }
+                    return where;
+                }, newDto);
+        return new HotelPageDTO(page.items(), page.nextCursor(), page.hasMore());
+    }
+}
@@ -2,12 +2,33 @@ package com.travel.hotel.repository;
 
 import com.travel.hotel.entity.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, Long> {
+public interface HotelRepository extends JpaRepository<Hotel, Long>, HotelListingRepository {
     List<Hotel> findByLocation(String location);
     List<Hotel> findByLocationAndStarRating(String location, Integer starRating);
+
+    /**
+     * Atomically take rooms if enough are left
+     * @return 1 if the rooms were reserved, 0 if the hotel is missing or has too few rooms
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.availableRooms = h.availableRooms - :rooms " +
+            "WHERE h.id = :id AND h.availableRooms >= :rooms")
+    int reserveRooms(@Param("id") Long id, @Param("rooms") int rooms);
+
+    /**
+     * Atomically give rooms back, never going above the hotel's capacity
+     * @return 1 if the rooms were released, 0 if the hotel is missing or the release would exceed capacity
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.availableRooms = h.availableRooms + :rooms " +
+            "WHERE h.id = :id AND h.availableRooms + :rooms <= h.totalRooms")
+    int releaseRooms(@Param("id") Long id, @Param("rooms") int rooms);
 }
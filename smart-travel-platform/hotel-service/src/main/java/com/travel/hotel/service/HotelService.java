@@ -2,15 +2,27 @@ package com.travel.hotel.service;
 
 import com.travel.hotel.dto.*;
 import com.travel.hotel.entity.Hotel;
+import com.travel.hotel.entity.RoomReservation;
 import com.travel.hotel.exception.HotelNotFoundException;
 import com.travel.hotel.exception.NoRoomsAvailableException;
+import com.travel.hotel.exception.ReservationReleasedException;
+import com.travel.hotel.exception.RoomReleaseException;
 import com.travel.hotel.repository.HotelRepository;
+import com.travel.hotel.repository.RoomReservationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,7 +30,15 @@ import java.util.stream.Collectors;
 @Slf4j
 public class HotelService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ALL_HOTELS_SQL =
+            "SELECT id, hotel_name, location, address, price_per_night, total_rooms, available_rooms, star_rating " +
+            "FROM hotels ORDER BY id";
+
     private final HotelRepository hotelRepository;
+    private final RoomReservationRepository roomReservationRepository;
+    private final NdjsonExporter ndjsonExporter;
 
     @Transactional
     public HotelDTO createHotel(HotelRequestDTO requestDTO) {
@@ -51,31 +71,49 @@ public class HotelService {
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new HotelNotFoundException(hotelId));
         
-        boolean available = hotel.getAvailableRooms() > 0;
-        return new HotelAvailabilityDTO(
-                hotel.getId(),
-                hotel.getHotelName(),
-                available,
-                hotel.getAvailableRooms(),
-                hotel.getPricePerNight()
-        );
+        return toAvailability(hotel);
+    }
+
+    /**
+     * Availability for many hotels with a single query; unknown ids are left out of the result
+     */
+    public Map<Long, HotelAvailabilityDTO> checkAvailability(Collection<Long> hotelIds) {
+        log.info("Checking availability for {} hotels", hotelIds.size());
+        Map<Long, HotelAvailabilityDTO> availability = new LinkedHashMap<>();
+        hotelRepository.findAllById(new LinkedHashSet<>(hotelIds))
+                .forEach(hotel -> availability.put(hotel.getId(), toAvailability(hotel)));
+        return availability;
     }
 
     @Transactional
     public HotelDTO reserveRooms(Long hotelId, RoomReservationDTO reservationDTO) {
         log.info("Reserving {} rooms for hotel id: {}", reservationDTO.getNumberOfRooms(), hotelId);
         
-        Hotel hotel = hotelRepository.findById(hotelId)
+        Long bookingId = reservationDTO.getBookingId();
+        RoomReservation held = bookingId != null ? roomReservationRepository.findById(bookingId).orElse(null) : null;
+        if (held != null) {
+            if ("RELEASED".equals(held.getStatus())) {
+                throw new ReservationReleasedException(bookingId);
+            }
+            log.info("Booking {} already holds rooms at hotel {}", bookingId, hotelId);
+            return getHotelById(hotelId);
+        }
+        
+        // Single conditional UPDATE: no read-modify-write race, and the row lock is only held until the commit that follows
+        int updated = hotelRepository.reserveRooms(hotelId, reservationDTO.getNumberOfRooms());
+        Hotel updatedHotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new HotelNotFoundException(hotelId));
         
-        if (hotel.getAvailableRooms() < reservationDTO.getNumberOfRooms()) {
+        if (updated == 0) {
             throw new NoRoomsAvailableException(hotelId, 
                     reservationDTO.getNumberOfRooms(), 
-                    hotel.getAvailableRooms());
+                    updatedHotel.getAvailableRooms());
         }
         
-        hotel.setAvailableRooms(hotel.getAvailableRooms() - reservationDTO.getNumberOfRooms());
-        Hotel updatedHotel = hotelRepository.save(hotel);
+        if (bookingId != null) {
+            roomReservationRepository.save(new RoomReservation(
+                    bookingId, hotelId, reservationDTO.getNumberOfRooms(), "RESERVED", null));
+        }
         
         log.info("Successfully reserved {} rooms. Remaining: {}", 
                 reservationDTO.getNumberOfRooms(), updatedHotel.getAvailableRooms());
@@ -83,6 +121,53 @@ public class HotelService {
         return convertToDTO(updatedHotel);
     }
 
+    /**
+     * Give back rooms taken by {@link #reserveRooms}, e.g. when a booking saga compensates.
+     * With a booking id only the rooms that booking holds are given back, so repeating the
+     * release, or releasing a reservation that never went through, changes nothing.
+     */
+    @Transactional
+    public HotelDTO releaseRooms(Long hotelId, RoomReservationDTO reservationDTO) {
+        log.info("Releasing {} rooms for hotel id: {}", reservationDTO.getNumberOfRooms(), hotelId);
+        
+        Long bookingId = reservationDTO.getBookingId();
+        if (bookingId != null && !releaseHold(bookingId, hotelId)) {
+            log.info("Booking {} holds no rooms at hotel {}, nothing to release", bookingId, hotelId);
+            return getHotelById(hotelId);
+        }
+        
+        int updated = hotelRepository.releaseRooms(hotelId, reservationDTO.getNumberOfRooms());
+        Hotel updatedHotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+        
+        if (updated == 0) {
+            throw new RoomReleaseException(hotelId, 
+                    reservationDTO.getNumberOfRooms(), 
+                    updatedHotel.getAvailableRooms(), 
+                    updatedHotel.getTotalRooms());
+        }
+        
+        log.info("Successfully released {} rooms. Available: {}", 
+                reservationDTO.getNumberOfRooms(), updatedHotel.getAvailableRooms());
+        
+        return convertToDTO(updatedHotel);
+    }
+
+    /**
+     * Mark the booking's rooms released, leaving a released row if it holds none so that a
+     * late reserve for it is refused
+     * @return true if the booking held rooms, which the caller then gives back
+     */
+    private boolean releaseHold(Long bookingId, Long hotelId) {
+        if (roomReservationRepository.markReleased(bookingId) == 1) {
+            return true;
+        }
+        if (!roomReservationRepository.existsById(bookingId)) {
+            roomReservationRepository.save(new RoomReservation(bookingId, hotelId, 0, "RELEASED", null));
+        }
+        return false;
+    }
+
     public List<HotelDTO> searchHotels(String location, Integer starRating) {
         log.info("Searching hotels in {} with rating {}", location, starRating);
         List<Hotel> hotels;
@@ -100,6 +185,52 @@ public class HotelService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Write all hotels as NDJSON, row by row from a JDBC cursor,
+     * without materializing them as a list or as entities
+     */
+    @Transactional(readOnly = true)
+    public void streamAllHotels(OutputStream out) {
+        log.info("Streaming all hotels");
+        ndjsonExporter.write(out, ALL_HOTELS_SQL, (rs, rowNum) -> mapRow(rs));
+    }
+
+    /**
+     * One page of hotels, optionally in one location and star rating, in sort order starting
+     * after the given cursor; the page size is clamped to 1..{@value #MAX_PAGE_SIZE}
+     */
+    public HotelPageDTO getHotelsPage(String location, Integer starRating,
+                                      String sort, String after, Set<String> fields, int requestedSize) {
+        int size = Math.max(1, Math.min(requestedSize, MAX_PAGE_SIZE));
+        log.info("Fetching hotels page in {} with rating {} by {} after {} (page size {}, fields {})", 
+                location, starRating, sort, after, size, fields);
+        return hotelRepository.findPage(location, starRating, sort, after, fields, size);
+    }
+
+    private HotelAvailabilityDTO toAvailability(Hotel hotel) {
+        boolean available = hotel.getAvailableRooms() > 0;
+        return new HotelAvailabilityDTO(
+                hotel.getId(),
+                hotel.getHotelName(),
+                available,
+                hotel.getAvailableRooms(),
+                hotel.getPricePerNight()
+        );
+    }
+
+    private HotelDTO mapRow(ResultSet rs) throws SQLException {
+        return new HotelDTO(
+                rs.getLong("id"),
+                rs.getString("hotel_name"),
+                rs.getString("location"),
+                rs.getString("address"),
+                rs.getDouble("price_per_night"),
+                rs.getInt("total_rooms"),
+                rs.getInt("available_rooms"),
+                rs.getInt("star_rating")
+        );
+    }
+
     private HotelDTO convertToDTO(Hotel hotel) {
         return new HotelDTO(
                 hotel.getId(),
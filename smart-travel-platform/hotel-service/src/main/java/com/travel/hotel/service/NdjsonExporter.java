@@ -0,0 +1,121 @@
+package com.travel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+/**
+ * NDJSON exports: query rows are read through a forward-only, read-only JDBC cursor and
+ * written one JSON object per line as they arrive, so memory use does not grow with the
+ * table. Each export runs with its own timeout instead of the MVC async request timeout,
+ * which other async requests keep.
+ * <p>
+ * Each service that streams NDJSON keeps its own copy of this class, since the services
+ * share no code module; a change to one copy belongs in the others.
+ */
+@Component
+@Slf4j
+public class NdjsonExporter {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor exportExecutor;
+    private final int fetchSize;
+    private final long timeoutMs;
+
+    public NdjsonExporter(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor exportExecutor,
+                          @Value("${hotel.stream.fetch-size:500}") int fetchSize,
+                          @Value("${hotel.stream.timeout-ms:600000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.exportExecutor = exportExecutor;
+        this.fetchSize = fetchSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Write every row of the query to the stream as one JSON line
+     */
+    public void write(OutputStream out, String sql, RowMapper<?> rowMapper, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(rowMapper.mapRow(rs, rs.getRow())));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Run the body on the task executor and stream what it writes, giving up after the
+     * export timeout
+     */
+    public ResponseBodyEmitter export(StreamingResponseBody body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        exportExecutor.execute(() -> {
+            try (OutputStream out = new BufferedOutputStream(new EmitterOutputStream(emitter), BUFFER_SIZE)) {
+                body.writeTo(out);
+            } catch (Exception e) {
+                log.warn("NDJSON export aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+                return;
+            }
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    /**
+     * Hands each flushed buffer to the emitter as one chunk
+     */
+    private static class EmitterOutputStream extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            emitter.send(Arrays.copyOfRange(bytes, offset, offset + length), NDJSON);
+        }
+    }
+}
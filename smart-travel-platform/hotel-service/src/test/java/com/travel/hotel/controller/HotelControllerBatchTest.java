@@ -0,0 +1,57 @@
+package com.travel.hotel.controller;
+
+import com.travel.hotel.service.HotelService;
+import com.travel.hotel.service.NdjsonExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HotelController.class)
+class HotelControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HotelService hotelService;
+
+    @MockBean
+    private NdjsonExporter ndjsonExporter;
+
+    @Test
+    void acceptsUpToFiveHundredIds() throws Exception {
+        when(hotelService.checkAvailability(anyCollection())).thenReturn(Map.of());
+
+        mockMvc.perform(post("/api/hotels/check-availability/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids(500)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsLargerBatches() throws Exception {
+        mockMvc.perform(post("/api/hotels/check-availability/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids(501)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 500 hotels per request"));
+    }
+
+    private static String ids(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.travel.hotel.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.hotel.dto.HotelDTO;
+import com.travel.hotel.dto.HotelRequestDTO;
+import com.travel.hotel.service.HotelService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON export writes one hotel per line, matching the JSON list, and runs with
+ * its own timeout rather than the MVC async request timeout
+ */
+@SpringBootTest(properties = "hotel.stream.timeout-ms=45000")
+@AutoConfigureMockMvc
+class HotelExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryHotelAsOneJsonLine() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            hotelService.createHotel(new HotelRequestDTO("Export Inn " + i, "Ndjson City",
+                    i + " Line Street", 90.0 + i, 20, 3));
+        }
+
+        MvcResult export = mockMvc.perform(get("/api/hotels").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(45_000);
+
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<HotelDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, HotelDTO.class));
+        }
+        assertThat(exported).containsExactlyElementsOf(hotelService.getAllHotels().stream()
+                .sorted(Comparator.comparing(HotelDTO::getId))
+                .toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.travel.hotel.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.hotel.dto.HotelDTO;
+import com.travel.hotel.dto.HotelPageDTO;
+import com.travel.hotel.dto.HotelProjectionDTO;
+import com.travel.hotel.entity.Hotel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walking every page must return each hotel once, in sort order, with ties on the sort
+ * column broken by id
+ */
+@DataJpaTest
+class HotelListingRepositoryTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 13; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setHotelName("Keyset Inn " + i);
+            hotel.setLocation("Pagetown");
+            hotel.setAddress(i + " Cursor Street");
+            hotel.setPricePerNight(80.0 + 20 * (i % 3));
+            hotel.setTotalRooms(10);
+            hotel.setAvailableRooms(10);
+            hotel.setStarRating(1 + i % 5);
+            hotelRepository.save(hotel);
+        }
+    }
+
+    @Test
+    void pagesByPriceCoverEveryHotelOnce() {
+        assertThat(walk("price")).containsExactlyElementsOf(sortedIds(Comparator
+                .comparing(Hotel::getPricePerNight)
+                .thenComparing(Hotel::getId)));
+    }
+
+    @Test
+    void pagesByRatingCoverEveryHotelOnce() {
+        assertThat(walk("rating")).containsExactlyElementsOf(sortedIds(Comparator
+                .comparing(Hotel::getStarRating, Comparator.reverseOrder())
+                .thenComparing(Hotel::getId)));
+    }
+
+    @Test
+    void projectionOmitsUnselectedFieldsButFullHotelsKeepNulls() throws Exception {
+        HotelDTO projected = hotelRepository.findPage("Pagetown", null, "price", null,
+                Set.of("pricePerNight"), 1).getHotels().get(0);
+
+        assertThat(projected).isInstanceOf(HotelProjectionDTO.class);
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(projected)).fieldNames())
+                .toIterable().containsExactlyInAnyOrder("id", "pricePerNight");
+
+        HotelDTO full = hotelRepository.findPage("Pagetown", null, "price", null, null, 1).getHotels().get(0);
+        full.setAddress(null);
+        assertThat(full).isNotInstanceOf(HotelProjectionDTO.class);
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(full)).get("address").isNull()).isTrue();
+    }
+
+    private List<Long> walk(String sort) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        HotelPageDTO page;
+        do {
+            page = hotelRepository.findPage("Pagetown", null, sort, after, null, 4);
+            page.getHotels().forEach(hotel -> ids.add(hotel.getId()));
+            after = page.getNextCursor();
+        } while (page.isHasMore());
+        return ids;
+    }
+
+    private List<Long> sortedIds(Comparator<Hotel> order) {
+        return hotelRepository.findAll().stream().sorted(order).map(Hotel::getId).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.travel.hotel.service;
+
+import com.travel.hotel.dto.HotelRequestDTO;
+import com.travel.hotel.dto.RoomReservationDTO;
+import com.travel.hotel.entity.Hotel;
+import com.travel.hotel.exception.NoRoomsAvailableException;
+import com.travel.hotel.exception.ReservationReleasedException;
+import com.travel.hotel.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many threads reserving one room at a time on the same hotel, before and after the
+ * conditional UPDATE. Prints throughput and how many reservations were granted beyond
+ * the hotel's capacity.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.travel.hotel=WARN",
+        "logging.level.org.hibernate.SQL=INFO"})
+class HotelReservationContentionBenchmarkTest {
+
+    private static final int ROOMS = 100;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Test
+    void conditionalUpdateNeverOversells() throws Exception {
+        Long hotelId = createHotel();
+
+        Result result = hammer("conditional UPDATE", () -> hotelService.reserveRooms(hotelId, new RoomReservationDTO(1)));
+
+        assertThat(result.oversold()).isZero();
+        assertThat(result.granted()).isEqualTo(ROOMS);
+        assertThat(hotelRepository.findById(hotelId).orElseThrow().getAvailableRooms()).isZero();
+    }
+
+    @Test
+    void bookingReleaseGivesBackOnlyWhatTheBookingHolds() {
+        Long hotelId = createHotel();
+
+        hotelService.reserveRooms(hotelId, new RoomReservationDTO(2, 7L));
+        assertThat(hotelService.reserveRooms(hotelId, new RoomReservationDTO(2, 7L)).getAvailableRooms())
+                .isEqualTo(ROOMS - 2);
+
+        assertThat(hotelService.releaseRooms(hotelId, new RoomReservationDTO(2, 7L)).getAvailableRooms())
+                .isEqualTo(ROOMS);
+        assertThat(hotelService.releaseRooms(hotelId, new RoomReservationDTO(2, 7L)).getAvailableRooms())
+                .isEqualTo(ROOMS);
+
+        // releasing a reservation that never arrived gives nothing back and refuses it later
+        hotelService.reserveRooms(hotelId, new RoomReservationDTO(1));
+        assertThat(hotelService.releaseRooms(hotelId, new RoomReservationDTO(1, 8L)).getAvailableRooms())
+                .isEqualTo(ROOMS - 1);
+        assertThatThrownBy(() -> hotelService.reserveRooms(hotelId, new RoomReservationDTO(1, 8L)))
+                .isInstanceOf(ReservationReleasedException.class);
+    }
+
+    /**
+     * The previous load, check and save, for comparison; how much it oversells depends on
+     * scheduling, so only the numbers are reported
+     */
+    @Test
+    void loadCheckSaveForComparison() throws Exception {
+        Long hotelId = createHotel();
+
+        hammer("load-check-save", () -> {
+            Hotel hotel = hotelRepository.findById(hotelId).orElseThrow();
+            if (hotel.getAvailableRooms() < 1) {
+                throw new NoRoomsAvailableException(hotelId, 1, hotel.getAvailableRooms());
+            }
+            hotel.setAvailableRooms(hotel.getAvailableRooms() - 1);
+            hotelRepository.save(hotel);
+        });
+    }
+
+    private Long createHotel() {
+        return hotelService.createHotel(new HotelRequestDTO("Contention Inn", "Benchmark City",
+                "1 Hot Row", 120.0, ROOMS, 3)).getId();
+    }
+
+    private Result hammer(String path, Runnable reserveOneRoom) throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        reserveOneRoom.run();
+                        granted.incrementAndGet();
+                    } catch (NoRoomsAvailableException e) {
+                        // sold out
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        pool.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        Result result = new Result(granted.get(), Math.max(0, granted.get() - ROOMS));
+        System.out.printf("%s: %d reservations for %d rooms from %d threads in %d ms (%.0f/s), %d granted, %d oversold%n",
+                path, attempts, ROOMS, THREADS, elapsedMs, attempts * 1000.0 / elapsedMs,
+                result.granted(), result.oversold());
+        return result;
+    }
+
+    private record Result(int granted, int oversold) {
+    }
+}
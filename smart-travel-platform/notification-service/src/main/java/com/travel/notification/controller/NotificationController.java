@@ -1,8 +1,10 @@
 package com.travel.notification.controller;
 
+import com.travel.notification.dto.BulkNotificationRequestDTO;
 import com.travel.notification.dto.NotificationDTO;
 import com.travel.notification.dto.NotificationRequestDTO;
 import com.travel.notification.dto.NotificationResponseDTO;
+import com.travel.notification.service.NdjsonExporter;
 import com.travel.notification.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 
@@ -23,6 +26,7 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NdjsonExporter ndjsonExporter;
 
     @PostMapping("/send")
     @Operation(summary = "Send notification")
@@ -36,6 +40,15 @@ public class NotificationController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/send/bulk")
+    @Operation(summary = "Send notifications in bulk")
+    public ResponseEntity<List<NotificationDTO>> sendNotifications(
+            @Valid @RequestBody BulkNotificationRequestDTO requestDTO) {
+        log.info("POST /api/notifications/send/bulk - {} notifications", requestDTO.getNotifications().size());
+        List<NotificationDTO> notifications = notificationService.sendNotifications(requestDTO.getNotifications());
+        return new ResponseEntity<>(notifications, HttpStatus.CREATED);
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get user notifications")
     public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId) {
@@ -44,6 +57,16 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping(value = "/user/{userId}", produces = "application/x-ndjson")
+    @Operation(summary = "Export user notifications", 
+            description = "All notifications of the user as NDJSON, newest first, one per line (Accept: application/x-ndjson)")
+    public ResponseEntity<ResponseBodyEmitter> streamUserNotifications(@PathVariable Long userId) {
+        log.info("GET /api/notifications/user/{} - Streaming as NDJSON", userId);
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(out -> notificationService.streamUserNotifications(userId, out)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get notification by ID")
     public ResponseEntity<NotificationDTO> getNotificationById(@PathVariable Long id) {
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        indexes = {
+                @Index(name = "idx_notifications_user_sent", columnList = "user_id, sent_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
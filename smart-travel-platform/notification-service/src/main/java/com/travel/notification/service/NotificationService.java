@@ -9,6 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,12 +21,37 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NotificationService {
 
+    private static final String USER_NOTIFICATIONS_SQL =
+            "SELECT id, user_id, message, type, status, sent_at FROM notifications " +
+            "WHERE user_id = ? ORDER BY sent_at DESC, id DESC";
+
     private final NotificationRepository notificationRepository;
+    private final NdjsonExporter ndjsonExporter;
 
     @Transactional
     public NotificationDTO sendNotification(NotificationRequestDTO requestDTO) {
         log.info("Sending notification to user {}: {}", requestDTO.getUserId(), requestDTO.getMessage());
         
+        Notification savedNotification = notificationRepository.save(deliver(requestDTO));
+        return convertToDTO(savedNotification);
+    }
+
+    /**
+     * Send many notifications and store them in one transaction
+     */
+    @Transactional
+    public List<NotificationDTO> sendNotifications(List<NotificationRequestDTO> requests) {
+        log.info("Sending {} notifications in bulk", requests.size());
+        
+        List<Notification> notifications = requests.stream()
+                .map(this::deliver)
+                .collect(Collectors.toList());
+        return notificationRepository.saveAll(notifications).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    private Notification deliver(NotificationRequestDTO requestDTO) {
         Notification notification = new Notification();
         notification.setUserId(requestDTO.getUserId());
         notification.setMessage(requestDTO.getMessage());
@@ -39,9 +68,7 @@ public class NotificationService {
         } else {
             log.error("❌ NOTIFICATION FAILED to User {}", requestDTO.getUserId());
         }
-        
-        Notification savedNotification = notificationRepository.save(notification);
-        return convertToDTO(savedNotification);
+        return notification;
     }
 
     public List<NotificationDTO> getUserNotifications(Long userId) {
@@ -51,12 +78,34 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Write all of a user's notifications as NDJSON, newest first, row by row from a
+     * JDBC cursor, without materializing them as a list or as entities
+     */
+    @Transactional(readOnly = true)
+    public void streamUserNotifications(Long userId, OutputStream out) {
+        log.info("Streaming notifications for user {}", userId);
+        ndjsonExporter.write(out, USER_NOTIFICATIONS_SQL, (rs, rowNum) -> mapRow(rs), userId);
+    }
+
     public NotificationDTO getNotificationById(Long id) {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
         return convertToDTO(notification);
     }
 
+    private NotificationDTO mapRow(ResultSet rs) throws SQLException {
+        Timestamp sentAt = rs.getTimestamp("sent_at");
+        return new NotificationDTO(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("message"),
+                rs.getString("type"),
+                rs.getString("status"),
+                sentAt != null ? sentAt.toLocalDateTime() : null
+        );
+    }
+
     private NotificationDTO convertToDTO(Notification notification) {
         return new NotificationDTO(
                 notification.getId(),
@@ -0,0 +1,65 @@
+package com.travel.notification.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.notification.dto.NotificationDTO;
+import com.travel.notification.dto.NotificationRequestDTO;
+import com.travel.notification.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON export writes one notification per line, matching the JSON list, and runs with
+ * its own timeout rather than the MVC async request timeout
+ */
+@SpringBootTest(properties = "notification.stream.timeout-ms=45000")
+@AutoConfigureMockMvc
+class NotificationExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsTheUsersNotificationsAsOneJsonLineEach() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            notificationService.sendNotification(new NotificationRequestDTO(7L, "Export " + i, "EMAIL"));
+        }
+        notificationService.sendNotification(new NotificationRequestDTO(8L, "Someone else's", "SMS"));
+
+        MvcResult export = mockMvc.perform(get("/api/notifications/user/{userId}", 7L).accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(45_000);
+
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<NotificationDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, NotificationDTO.class));
+        }
+        assertThat(exported).hasSize(3)
+                .containsExactlyInAnyOrderElementsOf(notificationService.getUserNotifications(7L));
+    }
+}
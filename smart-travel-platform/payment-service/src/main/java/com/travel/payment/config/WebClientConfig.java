@@ -1,12 +1,23 @@
 package com.travel.payment.config;
 
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
- * WebClient configuration for inter-service communication
+ * WebClient configuration for inter-service communication.
+ * <p>
+ * Booking Service calls use a named, bounded reactor-netty connection pool configured
+ * under payment.webclient.*; pool usage is published as reactor.netty.connection.provider.*.
  */
 @Configuration
 public class WebClientConfig {
@@ -14,6 +25,35 @@ public class WebClientConfig {
     @Value("${services.booking-service.url:http://localhost:8086}")
     private String bookingServiceUrl;
 
+    @Value("${payment.webclient.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${payment.webclient.pending-acquire-max-count:100}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${payment.webclient.pending-acquire-timeout-ms:1000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${payment.webclient.max-idle-time-seconds:30}")
+    private long maxIdleTimeSeconds;
+
+    @Value("${payment.webclient.max-life-time-seconds:300}")
+    private long maxLifeTimeSeconds;
+
+    @Value("${payment.webclient.evict-interval-seconds:30}")
+    private long evictIntervalSeconds;
+
+    @Value("${payment.webclient.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${payment.webclient.response-timeout-ms:5000}")
+    private long responseTimeoutMs;
+
+    @Value("${payment.webclient.max-in-memory-size:256KB}")
+    private DataSize maxInMemorySize;
+
+    private ConnectionProvider bookingServiceConnectionProvider;
+
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
@@ -21,8 +61,33 @@ public class WebClientConfig {
 
     @Bean
     public WebClient bookingServiceWebClient(WebClient.Builder builder) {
-        return builder
+        bookingServiceConnectionProvider = ConnectionProvider.builder("booking-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(bookingServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        // Load event loops, native transport and DNS resolver now rather than on the first request
+        httpClient.warmup().block();
+
+        return builder.clone()
                 .baseUrl(bookingServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                 .build();
     }
+
+    @PreDestroy
+    public void disposeConnectionProvider() {
+        if (bookingServiceConnectionProvider != null) {
+            bookingServiceConnectionProvider.dispose();
+        }
+    }
 }
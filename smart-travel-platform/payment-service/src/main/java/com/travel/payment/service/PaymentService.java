@@ -9,6 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
 
 /**
  * Payment Service with WebClient integration to call Booking Service
@@ -53,7 +57,8 @@ public class PaymentService {
     }
 
     /**
-     * Call Booking Service to confirm booking using WebClient
+     * Call Booking Service to confirm booking using WebClient. The Idempotency-Key is derived
+     * from the booking, so a retried payment or a retried call confirms it only once.
      */
     private void confirmBookingViaWebClient(Long bookingId) {
         log.info("Calling Booking Service via WebClient to confirm booking {}", bookingId);
@@ -62,10 +67,14 @@ public class PaymentService {
             bookingServiceWebClient
                     .put()
                     .uri("/api/bookings/{id}/confirm", bookingId)
+                    .header("Idempotency-Key", "booking-" + bookingId + "-confirm")
                     .retrieve()
                     .bodyToMono(String.class)
+                    // 503 means the booking service confirmation queue is full
+                    .retryWhen(Retry.backoff(3, Duration.ofMillis(500))
+                            .filter(WebClientResponseException.ServiceUnavailable.class::isInstance))
                     .subscribe(
-                            response -> log.info("✅ Booking confirmed via WebClient: {}", response),
+                            response -> log.info("✅ Booking confirmation accepted via WebClient: {}", response),
                             error -> log.error("❌ Error confirming booking: {}", error.getMessage())
                     );
         } catch (Exception e) {
@@ -3,6 +3,7 @@ package com.travel.user.controller;
 import com.travel.user.dto.UserDTO;
 import com.travel.user.dto.UserRequestDTO;
 import com.travel.user.dto.UserResponseDTO;
+import com.travel.user.service.NdjsonExporter;
 import com.travel.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 
@@ -26,6 +28,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonExporter ndjsonExporter;
 
     /**
      * Create a new user
@@ -100,4 +103,20 @@ public class UserController {
         List<UserDTO> users = userService.getAllUsers();
         return ResponseEntity.ok(users);
     }
+
+    /**
+     * Export all users as NDJSON
+     * 
+     * @return Streamed body, one user per line
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    @Operation(summary = "Export all users", 
+            description = "All users as NDJSON, one per line, streamed from the database (Accept: application/x-ndjson)")
+    public ResponseEntity<ResponseBodyEmitter> streamAllUsers() {
+        log.info("GET /api/users - Streaming all users as NDJSON");
+
+        return ResponseEntity.ok()
+                .contentType(NdjsonExporter.NDJSON)
+                .body(ndjsonExporter.export(userService::streamAllUsers));
+    }
 }
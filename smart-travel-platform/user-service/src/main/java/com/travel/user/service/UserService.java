@@ -11,6 +11,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,7 +26,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
 
+    private static final String ALL_USERS_SQL =
+            "SELECT id, name, email, phone, created_at FROM users ORDER BY id";
+
     private final UserRepository userRepository;
+    private final NdjsonExporter ndjsonExporter;
 
     /**
      * Create a new user
@@ -90,6 +98,28 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Write all users as NDJSON, row by row from a JDBC cursor,
+     * without materializing them as a list or as entities
+     * @param out Response body to write to
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(OutputStream out) {
+        log.info("Streaming all users");
+        ndjsonExporter.write(out, ALL_USERS_SQL, (rs, rowNum) -> mapRow(rs));
+    }
+
+    private UserDTO mapRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new UserDTO(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("phone"),
+                createdAt != null ? createdAt.toLocalDateTime() : null
+        );
+    }
+
     /**
      * Convert User entity to DTO
      * @param user User entity
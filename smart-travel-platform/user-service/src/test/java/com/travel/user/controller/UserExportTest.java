@@ -0,0 +1,66 @@
+package com.travel.user.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travel.user.dto.UserDTO;
+import com.travel.user.dto.UserRequestDTO;
+import com.travel.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON export writes one user per line, matching the JSON list, and runs with
+ * its own timeout rather than the MVC async request timeout
+ */
+@SpringBootTest(properties = "user.stream.timeout-ms=45000")
+@AutoConfigureMockMvc
+class UserExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryUserAsOneJsonLine() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            userService.createUser(new UserRequestDTO("Export User " + i, "export" + i + "@example.com", "+100000000" + i));
+        }
+
+        MvcResult export = mockMvc.perform(get("/api/users").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(45_000);
+
+        String body = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<UserDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, UserDTO.class));
+        }
+        assertThat(exported).containsExactlyElementsOf(userService.getAllUsers().stream()
+                .sorted(Comparator.comparing(UserDTO::getId))
+                .toList());
+    }
+}